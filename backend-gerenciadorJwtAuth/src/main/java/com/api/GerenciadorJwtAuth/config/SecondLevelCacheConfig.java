@@ -0,0 +1,60 @@
+package com.api.GerenciadorJwtAuth.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the in-process JCache regions used by Hibernate's second-level and query caches.
+ * Each region is bounded by {@code app.cache.<region>.max-size} and {@code app.cache.<region>.ttl-ms}.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String CITIES_REGION = "cities";
+    public static final String USERS_REGION = "users";
+    public static final String USERS_BY_CPF_REGION = "users-by-cpf";
+
+    // Hibernate's own regions for cacheable queries without an explicit region and for table timestamps
+    private static final String DEFAULT_QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(Environment environment) {
+        // a private manager per application context, so closing one context never closes another's caches
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        for (String region : new String[]{CITIES_REGION, USERS_REGION, USERS_BY_CPF_REGION, DEFAULT_QUERY_RESULTS_REGION}) {
+            cacheManager.createCache(region, regionConfiguration(
+                    environment.getProperty("app.cache." + region + ".max-size", Long.class, 1000L),
+                    environment.getProperty("app.cache." + region + ".ttl-ms", Long.class, 600_000L)));
+        }
+        // timestamps must outlive every cached query result, otherwise stale results look fresh
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> regionConfiguration(long maxSize, long ttlMs) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.MILLISECONDS.toNanos(ttlMs)));
+        return configuration;
+    }
+}
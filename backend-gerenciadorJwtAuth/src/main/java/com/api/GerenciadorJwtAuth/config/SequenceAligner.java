@@ -0,0 +1,50 @@
+package com.api.GerenciadorJwtAuth.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * MySQL has no sequences, so Hibernate emulates {@code *_seq} with one-row tables that start at 1.
+ * Tables created while ids were still AUTO_INCREMENT already hold rows above that, so before the
+ * first insert each sequence is moved past the current max id plus one allocation block.
+ */
+@Slf4j
+@Component
+public class SequenceAligner {
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "products", "products_seq",
+            "cities", "cities_seq",
+            "users", "users_seq");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // depending on the EntityManagerFactory makes sure the schema update has created the tables
+    public SequenceAligner(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void align() {
+        String database = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"MySQL".equalsIgnoreCase(database)) {
+            return;
+        }
+
+        SEQUENCES.forEach((table, sequence) -> {
+            int updated = jdbcTemplate.update(
+                    "UPDATE " + sequence + " SET next_val = GREATEST(next_val, " +
+                            "(SELECT COALESCE(MAX(id), 0) + " + ALLOCATION_SIZE + " FROM " + table + "))");
+            log.debug("Aligned {} with {} ({} row)", sequence, table, updated);
+        });
+    }
+}
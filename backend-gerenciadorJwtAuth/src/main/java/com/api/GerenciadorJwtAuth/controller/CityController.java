@@ -4,6 +4,8 @@ import com.api.GerenciadorJwtAuth.dto.CityDTO;
 import com.api.GerenciadorJwtAuth.service.CityService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -15,34 +17,50 @@ import java.util.List;
 @RequiredArgsConstructor
 public class CityController {
 
+    // the list is only served to signed-in users, so shared caches must not keep it; clients
+    // revalidate with If-None-Match and get a 304 while the catalog is unchanged
+    private static final CacheControl CITY_CACHE_CONTROL = CacheControl.empty().cachePrivate();
+
     private final CityService cityService;
 
     @GetMapping("/cities")
     public ResponseEntity<List<CityDTO>> getAllCities() {
-        return ResponseEntity.ok(cityService.getAllCities());
+        List<CityDTO> cities = cityService.getAllCities();
+        return ResponseEntity.ok()
+                .cacheControl(CITY_CACHE_CONTROL)
+                .eTag(ETags.of(cities, c -> c.getId() + ":" + c.getVersion()))
+                .body(cities);
     }
 
     @GetMapping("/cities/{id}")
     public ResponseEntity<CityDTO> getCityById(@PathVariable Long id) {
-        return ResponseEntity.ok(cityService.getCityById(id));
+        CityDTO city = cityService.getCityById(id);
+        return ResponseEntity.ok().cacheControl(CITY_CACHE_CONTROL).eTag(ETags.of(city.getVersion())).body(city);
     }
 
     @PostMapping("/cities")
     @PreAuthorize("hasAuthority('ADMIN')")
     public ResponseEntity<CityDTO> createCity(@Valid @RequestBody CityDTO cityDTO) {
-        return new ResponseEntity<>(cityService.createCity(cityDTO), HttpStatus.CREATED);
+        CityDTO city = cityService.createCity(cityDTO);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(ETags.of(city.getVersion())).body(city);
     }
 
     @PutMapping("/cities/{id}")
     @PreAuthorize("hasAuthority('ADMIN')")
-    public ResponseEntity<CityDTO> updateCity(@PathVariable Long id, @Valid @RequestBody CityDTO cityDTO) {
-        return ResponseEntity.ok(cityService.updateCity(id, cityDTO));
+    public ResponseEntity<CityDTO> updateCity(
+            @PathVariable Long id,
+            @Valid @RequestBody CityDTO cityDTO,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        CityDTO city = cityService.updateCity(id, cityDTO, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(city.getVersion())).body(city);
     }
 
     @DeleteMapping("/cities/{id}")
     @PreAuthorize("hasAuthority('ADMIN')")
-    public ResponseEntity<Void> deleteCity(@PathVariable Long id) {
-        cityService.deleteCity(id);
+    public ResponseEntity<Void> deleteCity(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        cityService.deleteCity(id, ETags.expectedVersion(ifMatch));
         return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.api.GerenciadorJwtAuth.controller;
+
+import com.api.GerenciadorJwtAuth.exception.PreconditionFailedException;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * Strong entity tags built from the {@code @Version} columns.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Tag for a list response: changes whenever an element is added, removed or gets a new version.
+     */
+    static <T> String of(Collection<T> items, Function<T, Object> versionKey, Object... extras) {
+        StringBuilder source = new StringBuilder();
+        for (T item : items) {
+            source.append(versionKey.apply(item)).append(',');
+        }
+        for (Object extra : extras) {
+            source.append('|').append(extra);
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(source.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Version the client expects from its If-Match header, or null when it sent none or "*".
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.valueOf(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // falls through: a tag we never issued cannot match
+            }
+        }
+        throw new PreconditionFailedException("If-Match does not match the current entity tag");
+    }
+}
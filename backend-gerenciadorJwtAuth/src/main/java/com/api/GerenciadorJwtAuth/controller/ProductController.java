@@ -1,15 +1,37 @@
 package com.api.GerenciadorJwtAuth.controller;
 
-import com.api.GerenciadorJwtAuth.security.JwtTokenProvider;
+import com.api.GerenciadorJwtAuth.dto.CursorPage;
+import com.api.GerenciadorJwtAuth.dto.ProductBulkResult;
+import com.api.GerenciadorJwtAuth.dto.ProductCursor;
 import com.api.GerenciadorJwtAuth.dto.ProductDTO;
+import com.api.GerenciadorJwtAuth.dto.ProductFileFormat;
+import com.api.GerenciadorJwtAuth.dto.ProductImportStatus;
+import com.api.GerenciadorJwtAuth.dto.ProductFilter;
+import com.api.GerenciadorJwtAuth.dto.StockAdjustment;
+import com.api.GerenciadorJwtAuth.dto.StockAdjustmentResult;
+import com.api.GerenciadorJwtAuth.security.CurrentUser;
+import com.api.GerenciadorJwtAuth.security.UserPrincipal;
+import com.api.GerenciadorJwtAuth.service.ProductBulkService;
+import com.api.GerenciadorJwtAuth.service.ProductExportService;
+import com.api.GerenciadorJwtAuth.service.ProductImportService;
 import com.api.GerenciadorJwtAuth.service.ProductService;
+import com.api.GerenciadorJwtAuth.service.ProductStockService;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -17,50 +39,126 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
-    private final JwtTokenProvider jwtTokenProvider;
-
-    private Long getUserIdFromToken(HttpServletRequest request) {
-        String authHeader = request.getHeader("Authorization");
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            String token = authHeader.substring(7);
-            return jwtTokenProvider.extractUserId(token);
-        }
-        return null;
-    }
+    private final ProductExportService productExportService;
+    private final ProductBulkService productBulkService;
+    private final ProductImportService productImportService;
+    private final ProductStockService productStockService;
 
     @GetMapping("/products")
-    public ResponseEntity<List<ProductDTO>> getAllProducts() {
-        return ResponseEntity.ok(productService.getAllProducts());
+    public ResponseEntity<PagedModel<ProductDTO>> getAllProducts(
+            ProductFilter filter,
+            @PageableDefault(size = 20, sort = "id") Pageable pageable) {
+        Page<ProductDTO> page = productService.getAllProducts(filter, pageable);
+        return ResponseEntity.ok()
+                .eTag(ETags.of(page.getContent(), p -> p.getId() + ":" + p.getVersion(), page.getTotalElements()))
+                .body(new PagedModel<>(page));
+    }
+
+    @GetMapping("/products/scroll")
+    public ResponseEntity<CursorPage<ProductDTO>> scrollProducts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "ID") ProductCursor.Order orderBy,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<ProductDTO> page = productService.scrollProducts(cursor, orderBy, size);
+        return ResponseEntity.ok()
+                .eTag(ETags.of(page.getContent(), p -> p.getId() + ":" + p.getVersion(), page.getNextCursor()))
+                .body(page);
+    }
+
+    @GetMapping("/products/export")
+    public void exportProducts(
+            @RequestParam(defaultValue = "NDJSON") ProductFileFormat format,
+            HttpServletResponse response) throws IOException {
+        response.setContentType(format == ProductFileFormat.CSV ? "text/csv" : "application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"products." + format.name().toLowerCase() + "\"");
+        productExportService.export(format, response.getOutputStream());
     }
 
     @GetMapping("/products/{id}")
     public ResponseEntity<ProductDTO> getProductById(@PathVariable Long id) {
-        return ResponseEntity.ok(productService.getProductById(id));
+        ProductDTO product = productService.getProductById(id);
+        return ResponseEntity.ok().eTag(ETags.of(product.getVersion())).body(product);
     }
 
     @PostMapping("/products")
     public ResponseEntity<ProductDTO> createProduct(
             @Valid @RequestBody ProductDTO productDTO,
-            HttpServletRequest request) {
-        Long userId = getUserIdFromToken(request);
-        return new ResponseEntity<>(productService.createProduct(productDTO, userId), HttpStatus.CREATED);
+            @CurrentUser Long userId) {
+        ProductDTO product = productService.createProduct(productDTO, userId);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(ETags.of(product.getVersion())).body(product);
+    }
+
+    // rows are validated one by one in the service, so a bad row does not fail the others
+    @PostMapping("/products/bulk")
+    public ResponseEntity<ProductBulkResult> bulkImportProducts(
+            @Size(max = ProductBulkService.MAX_BULK_SIZE, message = "A bulk request accepts at most "
+                    + ProductBulkService.MAX_BULK_SIZE + " products")
+            @RequestBody List<ProductDTO> products,
+            @RequestParam(defaultValue = "false") boolean upsert,
+            @CurrentUser UserPrincipal principal) {
+        return ResponseEntity.ok(productBulkService.importProducts(products, principal, upsert));
+    }
+
+    @PostMapping(value = "/products/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<ProductImportStatus> importProducts(
+            HttpServletRequest request,
+            @RequestParam(defaultValue = "false") boolean upsert,
+            @CurrentUser UserPrincipal principal) throws IOException {
+        ProductFileFormat format = request.getContentType().startsWith("text/csv")
+                ? ProductFileFormat.CSV
+                : ProductFileFormat.NDJSON;
+        ProductImportStatus status = productImportService.importProducts(request.getInputStream(), format, principal, upsert);
+        return ResponseEntity.accepted()
+                .location(URI.create("/products/import/" + status.getId()))
+                .body(status);
+    }
+
+    @GetMapping("/products/import")
+    public ResponseEntity<List<ProductImportStatus>> getImportJobs(@CurrentUser UserPrincipal principal) {
+        return ResponseEntity.ok(productImportService.getJobs(principal));
+    }
+
+    @GetMapping("/products/import/{jobId}")
+    public ResponseEntity<ProductImportStatus> getImportJob(
+            @PathVariable String jobId,
+            @CurrentUser UserPrincipal principal) {
+        return ResponseEntity.ok(productImportService.getJob(jobId, principal));
     }
 
     @PutMapping("/products/{id}")
     public ResponseEntity<ProductDTO> updateProduct(
             @PathVariable Long id,
             @Valid @RequestBody ProductDTO productDTO,
-            HttpServletRequest request) {
-        Long userId = getUserIdFromToken(request);
-        return ResponseEntity.ok(productService.updateProduct(id, productDTO, userId));
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @CurrentUser Long userId) {
+        ProductDTO product = productService.updateProduct(id, productDTO, userId, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(product.getVersion())).body(product);
+    }
+
+    @PatchMapping("/products/{id}/stock")
+    public ResponseEntity<Void> adjustStock(
+            @PathVariable Long id,
+            @Valid @RequestBody StockAdjustment adjustment,
+            @CurrentUser UserPrincipal principal) {
+        productStockService.adjustStock(id, adjustment.getDelta(), principal);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PatchMapping("/products/stock")
+    public ResponseEntity<StockAdjustmentResult> adjustStocks(
+            @RequestBody List<StockAdjustment> adjustments,
+            @CurrentUser UserPrincipal principal) {
+        return ResponseEntity.ok(productStockService.adjustStocks(adjustments, principal));
     }
 
     @DeleteMapping("/products/{id}")
     public ResponseEntity<Void> deleteProduct(
             @PathVariable Long id,
-            HttpServletRequest request) {
-        Long userId = getUserIdFromToken(request);
-        productService.deleteProduct(id, userId);
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @CurrentUser Long userId) {
+        productService.deleteProduct(id, userId, ETags.expectedVersion(ifMatch));
         return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
@@ -12,6 +12,8 @@ import lombok.NoArgsConstructor;
 public class AuthResponse {
     private String token;
     private String type;
+    private Long expiresIn;
+    private String refreshToken;
     private Long id;
     private String name;
     private String cpf;
@@ -20,4 +20,6 @@ public class CityDTO {
     @NotBlank(message = "State is required")
     @Size(min = 2, max = 2, message = "State must be 2 characters")
     private String state;
+
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.api.GerenciadorJwtAuth.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBulkResult {
+
+    private int created;
+
+    private int updated;
+
+    private List<RowError> errors = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+
+        private long index;
+
+        private String productCode;
+
+        private String message;
+    }
+}
@@ -0,0 +1,50 @@
+package com.api.GerenciadorJwtAuth.dto;
+
+import com.api.GerenciadorJwtAuth.exception.InvalidCursorException;
+import com.api.GerenciadorJwtAuth.model.Product;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position of the last row returned by a keyset scroll. Serialized as an opaque
+ * Base64url token so clients can only hand it back, never build or edit one.
+ */
+@Value
+public class ProductCursor {
+
+    public enum Order { ID, UPDATED_AT }
+
+    Order order;
+    LocalDateTime updatedAt;
+    Long id;
+
+    public static ProductCursor after(Order order, Product product) {
+        return new ProductCursor(order, order == Order.UPDATED_AT ? product.getUpdatedAt() : null, product.getId());
+    }
+
+    public String encode() {
+        String raw = order == Order.UPDATED_AT
+                ? order + "|" + updatedAt + "|" + id
+                : order + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProductCursor decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|");
+            Order order = Order.valueOf(parts[0]);
+            if (order == Order.UPDATED_AT && parts.length == 3) {
+                return new ProductCursor(order, LocalDateTime.parse(parts[1]), Long.valueOf(parts[2]));
+            }
+            if (order == Order.ID && parts.length == 2) {
+                return new ProductCursor(order, null, Long.valueOf(parts[1]));
+            }
+        } catch (RuntimeException ignored) {
+            // fall through to the error below
+        }
+        throw new InvalidCursorException(token);
+    }
+}
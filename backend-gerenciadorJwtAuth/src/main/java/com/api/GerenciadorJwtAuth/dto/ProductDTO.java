@@ -35,4 +35,6 @@ public class ProductDTO {
     private Long cityId;
 
     private Long userId;
+
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,6 @@
+package com.api.GerenciadorJwtAuth.dto;
+
+public enum ProductFileFormat {
+    NDJSON,
+    CSV
+}
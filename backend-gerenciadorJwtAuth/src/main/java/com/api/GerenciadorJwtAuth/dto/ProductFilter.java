@@ -0,0 +1,25 @@
+package com.api.GerenciadorJwtAuth.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFilter {
+
+    private Long cityId;
+
+    private Long userId;
+
+    private String codePrefix;
+
+    private Double minValue;
+
+    private Double maxValue;
+
+    private Integer minStock;
+
+    private Integer maxStock;
+}
@@ -0,0 +1,38 @@
+package com.api.GerenciadorJwtAuth.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportStatus {
+
+    public enum State { RUNNING, COMPLETED, FAILED }
+
+    private String id;
+
+    private State state;
+
+    private long rowsRead;
+
+    private long created;
+
+    private long updated;
+
+    private long failed;
+
+    private double rowsPerSecond;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    private String message;
+
+    private List<ProductBulkResult.RowError> errors;
+}
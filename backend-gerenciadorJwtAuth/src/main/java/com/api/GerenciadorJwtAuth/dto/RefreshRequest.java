@@ -0,0 +1,16 @@
+package com.api.GerenciadorJwtAuth.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RefreshRequest {
+    @NotBlank(message = "Refresh token cannot be blank")
+    private String refreshToken;
+}
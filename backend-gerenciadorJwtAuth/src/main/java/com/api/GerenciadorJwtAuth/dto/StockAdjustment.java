@@ -0,0 +1,17 @@
+package com.api.GerenciadorJwtAuth.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAdjustment {
+
+    private Long productId;
+
+    @NotNull(message = "Delta is required")
+    private Integer delta;
+}
@@ -15,4 +15,5 @@ public class UserDTO {
     private String name;
     private String cpf;
     private Role role;
+    private Long version;
 }
\ No newline at end of file
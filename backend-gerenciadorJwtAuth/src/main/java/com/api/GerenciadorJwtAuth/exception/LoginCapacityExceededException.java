@@ -0,0 +1,16 @@
+package com.api.GerenciadorJwtAuth.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@Getter
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class LoginCapacityExceededException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public LoginCapacityExceededException(long retryAfterSeconds) {
+        super("Too many logins in progress, please try again later");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
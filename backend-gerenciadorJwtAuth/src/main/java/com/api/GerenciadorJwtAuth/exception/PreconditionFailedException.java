@@ -0,0 +1,14 @@
+package com.api.GerenciadorJwtAuth.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+    public PreconditionFailedException(String resourceName, Object id) {
+        super(String.format("%s with id '%s' has been modified since it was read", resourceName, id));
+    }
+}
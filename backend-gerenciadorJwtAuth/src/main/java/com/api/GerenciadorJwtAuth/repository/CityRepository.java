@@ -1,11 +1,24 @@
 package com.api.GerenciadorJwtAuth.repository;
 
+import com.api.GerenciadorJwtAuth.dto.CityDTO;
 import com.api.GerenciadorJwtAuth.model.City;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
 @Repository
 public interface CityRepository extends JpaRepository<City, Long> {
 
     boolean existsByName(String name);
+
+    @Query("SELECT c.id FROM City c WHERE c.id IN :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.api.GerenciadorJwtAuth.dto.CityDTO(c.id, c.name, c.state, c.version) FROM City c")
+    List<CityDTO> findAllDtos();
 }
\ No newline at end of file
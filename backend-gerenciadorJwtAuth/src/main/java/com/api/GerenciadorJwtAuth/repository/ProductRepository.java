@@ -1,9 +1,17 @@
 package com.api.GerenciadorJwtAuth.repository;
 
+import com.api.GerenciadorJwtAuth.dto.ProductDTO;
 import com.api.GerenciadorJwtAuth.model.Product;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,4 +25,46 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     Optional<Product> findByProductCode(String productCode);
 
     boolean existsByProductCode(String productCode);
+
+    List<Product> findByProductCodeIn(Collection<String> productCodes);
+
+    @Query("SELECT new com.api.GerenciadorJwtAuth.dto.ProductDTO(" +
+            "p.id, p.productCode, p.productName, p.productValue, p.stock, p.city.id, p.user.id, p.version) " +
+            "FROM Product p " +
+            "WHERE (:cityId IS NULL OR p.city.id = :cityId) " +
+            "AND (:userId IS NULL OR p.user.id = :userId) " +
+            "AND (:codePrefix IS NULL OR p.productCode LIKE CONCAT(:codePrefix, '%')) " +
+            "AND (:minValue IS NULL OR p.productValue >= :minValue) " +
+            "AND (:maxValue IS NULL OR p.productValue <= :maxValue) " +
+            "AND (:minStock IS NULL OR p.stock >= :minStock) " +
+            "AND (:maxStock IS NULL OR p.stock <= :maxStock)")
+    Page<ProductDTO> search(@Param("cityId") Long cityId,
+                            @Param("userId") Long userId,
+                            @Param("codePrefix") String codePrefix,
+                            @Param("minValue") Double minValue,
+                            @Param("maxValue") Double maxValue,
+                            @Param("minStock") Integer minStock,
+                            @Param("maxStock") Integer maxStock,
+                            Pageable pageable);
+
+    @Query("SELECT new com.api.GerenciadorJwtAuth.dto.ProductDTO(" +
+            "p.id, p.productCode, p.productName, p.productValue, p.stock, p.city.id, p.user.id, p.version) " +
+            "FROM Product p WHERE p.id = :id")
+    Optional<ProductDTO> findDtoById(@Param("id") Long id);
+
+    // keyset pages are mapped row by row; the mapper only reads the city and user ids, which the
+    // lazy proxies answer from the foreign keys without another select
+    List<Product> findByOrderByIdAsc(Limit limit);
+
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    List<Product> findByOrderByUpdatedAtAscIdAsc(Limit limit);
+
+    @Query("SELECT p FROM Product p " +
+            "WHERE p.updatedAt > :updatedAt " +
+            "OR (p.updatedAt = :updatedAt AND p.id > :id) " +
+            "ORDER BY p.updatedAt, p.id")
+    List<Product> findAfterUpdatedAt(@Param("updatedAt") LocalDateTime updatedAt,
+                                     @Param("id") Long id,
+                                     Limit limit);
 }
\ No newline at end of file
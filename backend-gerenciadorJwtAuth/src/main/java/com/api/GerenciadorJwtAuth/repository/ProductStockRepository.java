@@ -0,0 +1,83 @@
+package com.api.GerenciadorJwtAuth.repository;
+
+import com.api.GerenciadorJwtAuth.dto.StockAdjustment;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies stock deltas with plain JDBC. Each row is a single guarded UPDATE, so the
+ * read-modify-write happens inside the database under the row lock and concurrent
+ * writers cannot overwrite each other's changes.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductStockRepository {
+
+    // the guard compares the delta against the room left instead of summing, which could overflow
+    private static final String ADJUST_ANY_SQL =
+            "UPDATE products SET stock = stock + ?, version = version + 1, updated_at = ? " +
+            "WHERE id = ? AND ? BETWEEN -stock AND " + Integer.MAX_VALUE + " - stock";
+
+    private static final String ADJUST_OWNED_SQL = ADJUST_ANY_SQL + " AND user_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * Runs the adjustments as one JDBC batch and returns the exact count of every row. A count
+     * of 0 means the product does not exist, is not owned by {@code ownerId}, or would go below
+     * zero or above the largest stock. Pass a null owner to skip the ownership check. Must run
+     * inside a transaction.
+     */
+    public int[] applyDeltas(List<StockAdjustment> adjustments, Long ownerId) {
+        String sql = ownerId == null ? ADJUST_ANY_SQL : ADJUST_OWNED_SQL;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(adjustments.size());
+        for (StockAdjustment adjustment : adjustments) {
+            args.add(ownerId == null
+                    ? new Object[]{adjustment.getDelta(), now, adjustment.getProductId(), adjustment.getDelta()}
+                    : new Object[]{adjustment.getDelta(), now, adjustment.getProductId(), adjustment.getDelta(), ownerId});
+        }
+
+        return jdbcTemplate.execute((ConnectionCallback<int[]>) connection -> {
+            Savepoint beforeBatch = connection.setSavepoint();
+            int[] counts = jdbcTemplate.batchUpdate(sql, args);
+            if (Arrays.stream(counts).noneMatch(count -> count == Statement.SUCCESS_NO_INFO)) {
+                connection.releaseSavepoint(beforeBatch);
+                return counts;
+            }
+            // a driver that rewrites batches may answer SUCCESS_NO_INFO, which does not say whether
+            // the guards passed; undo the batch and run the rows one by one for exact counts
+            connection.rollback(beforeBatch);
+            for (int i = 0; i < args.size(); i++) {
+                counts[i] = jdbcTemplate.update(sql, args.get(i));
+            }
+            return counts;
+        });
+    }
+
+    public Map<Long, Long> findOwnerIds(Collection<Long> productIds) {
+        Map<Long, Long> owners = new HashMap<>();
+        namedParameterJdbcTemplate.query(
+                "SELECT id, user_id FROM products WHERE id IN (:ids)",
+                Map.of("ids", productIds),
+                rs -> {
+                    owners.put(rs.getLong("id"), rs.getLong("user_id"));
+                });
+        return owners;
+    }
+}
@@ -1,13 +1,45 @@
 package com.api.GerenciadorJwtAuth.repository;
 
+import com.api.GerenciadorJwtAuth.config.SecondLevelCacheConfig;
+import com.api.GerenciadorJwtAuth.dto.UserDTO;
 import com.api.GerenciadorJwtAuth.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.USERS_BY_CPF_REGION)
+    })
     Optional<User> findByCpf(String cpf);
     boolean existsByCpf(String cpf);
+
+    @Query("SELECT new com.api.GerenciadorJwtAuth.dto.UserDTO(u.id, u.name, u.cpf, u.role, u.version) FROM User u")
+    List<UserDTO> findAllDtos();
+
+    @Query("SELECT new com.api.GerenciadorJwtAuth.dto.UserDTO(u.id, u.name, u.cpf, u.role, u.version) FROM User u WHERE u.id = :id")
+    Optional<UserDTO> findDtoById(@Param("id") Long id);
+
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.id = :id")
+    Optional<Long> findTokenVersionById(@Param("id") Long id);
+
+    // compares the old hash, so a password changed in the meantime is never overwritten
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newPassword, u.version = u.version + 1 " +
+            "WHERE u.id = :id AND u.password = :oldPassword")
+    int updatePassword(@Param("id") Long id,
+                       @Param("oldPassword") String oldPassword,
+                       @Param("newPassword") String newPassword);
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.api.GerenciadorJwtAuth.security;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Binds a controller parameter to the authenticated user set by {@link JwtAuthenticationFilter}.
+ * Supported parameter types are {@link UserPrincipal} and {@link Long} (the user id).
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CurrentUser {
+}
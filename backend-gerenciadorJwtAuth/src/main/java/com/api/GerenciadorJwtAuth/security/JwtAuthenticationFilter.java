@@ -4,11 +4,10 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -18,11 +17,25 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtTokenProvider tokenProvider;
+    private final VerifiedTokenCache tokenCache;
+    private final TokenRevocationList revocationList;
+    private final TokenVersionRegistry tokenVersionRegistry;
     private final UserDetailsServiceImpl userDetailsService;
+    private final boolean trustTokenClaims;
+
+    public JwtAuthenticationFilter(VerifiedTokenCache tokenCache,
+                                   TokenRevocationList revocationList,
+                                   TokenVersionRegistry tokenVersionRegistry,
+                                   UserDetailsServiceImpl userDetailsService,
+                                   @Value("${app.jwt.trust-claims:true}") boolean trustTokenClaims) {
+        this.tokenCache = tokenCache;
+        this.revocationList = revocationList;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.userDetailsService = userDetailsService;
+        this.trustTokenClaims = trustTokenClaims;
+    }
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
@@ -31,20 +44,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            String username = tokenProvider.getCpfFromToken(jwt);
+            VerifiedToken verifiedToken = tokenCache.verify(jwt)
+                    .filter(verified -> !revocationList.isRevoked(verified))
+                    .filter(tokenVersionRegistry::isCurrent)
+                    .orElse(null);
 
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            if (verifiedToken != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                UserPrincipal principal = resolvePrincipal(verifiedToken);
 
-                if (tokenProvider.validateToken(username, userDetails)) {
-                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                            userDetails, null, userDetails.getAuthorities());
+                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                        principal, null, principal.getAuthorities());
 
-                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                }
+                SecurityContextHolder.getContext().setAuthentication(authentication);
             }
         } catch (UsernameNotFoundException e) {
             logger.error("User not found for valid JWT: {}", e);
@@ -55,6 +69,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private UserPrincipal resolvePrincipal(VerifiedToken verifiedToken) {
+        if (trustTokenClaims && verifiedToken.getUserId() != null && verifiedToken.getRole() != null) {
+            return new UserPrincipal(verifiedToken.getUserId(), verifiedToken.getSubject(), verifiedToken.getRole());
+        }
+
+        return UserPrincipal.from(userDetailsService.loadUserByUsername(verifiedToken.getSubject()));
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
 
@@ -1,6 +1,9 @@
 package com.api.GerenciadorJwtAuth.security;
 
+import com.api.GerenciadorJwtAuth.model.Role;
+import com.api.GerenciadorJwtAuth.model.User;
 import io.jsonwebtoken.*;
+import io.jsonwebtoken.io.DecodingException;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
@@ -8,78 +11,125 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
-import java.security.Key;
+import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Slf4j
 @Component
 public class JwtTokenProvider {
 
-    @Value("${app.jwt.secret}")
-    private String jwtSecret;
+    private static final int MIN_SECRET_BYTES = 32;
 
-    @Value("${app.jwt.expiration}")
-    private int jwtExpirationMs;
+    private final SecretKey signingKey;
+    private final JwtParser jwtParser;
+    private final int jwtExpirationMs;
 
-    private Key key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+    public JwtTokenProvider(@Value("${app.jwt.secret}") String jwtSecret,
+                            @Value("${app.jwt.expiration}") int jwtExpirationMs) {
+        this.signingKey = buildSigningKey(jwtSecret);
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        this.jwtExpirationMs = jwtExpirationMs;
+    }
+
+    private static SecretKey buildSigningKey(String jwtSecret) {
+        if (!StringUtils.hasText(jwtSecret)) {
+            throw new IllegalStateException("app.jwt.secret must be set");
+        }
+
+        byte[] keyBytes;
+        try {
+            keyBytes = Decoders.BASE64.decode(jwtSecret);
+        } catch (DecodingException e) {
+            throw new IllegalStateException("app.jwt.secret must be Base64 encoded", e);
+        }
+
+        if (keyBytes.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException(String.format(
+                    "app.jwt.secret must decode to at least %d bits, got %d",
+                    MIN_SECRET_BYTES * 8, keyBytes.length * 8));
+        }
+
+        return Keys.hmacShaKeyFor(keyBytes);
+    }
+
+    public long getExpirationSeconds() {
+        return jwtExpirationMs / 1000L;
     }
 
     public String generateToken(Authentication authentication) {
         UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
 
-        return Jwts.builder()
-                .subject(userPrincipal.getUsername())
+        JwtBuilder builder = Jwts.builder()
+                .subject(userPrincipal.getUsername());
+
+        if (userPrincipal instanceof User user) {
+            builder.claim("userId", user.getId())
+                    .claim("role", user.getRole().name())
+                    .claim("tokenVersion", user.getTokenVersion());
+        }
+
+        return builder
+                .id(UUID.randomUUID().toString())
                 .issuedAt(new Date())
                 .expiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(key(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, Jwts.SIG.HS256)
                 .compact();
     }
 
-    public String getCpfFromToken(String token) {
-        return Jwts.parser()
-                .setSigningKey(key())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
-    }
+    public Optional<VerifiedToken> verify(String token) {
+        if (!StringUtils.hasText(token)) {
+            return Optional.empty();
+        }
 
-    public boolean validateToken(String token, UserDetails userDetails) {
         try {
-            final String username = getCpfFromToken(token);
-            if (username.equals(userDetails.getUsername()) && !isTokenExpired(token)) {
-                return true;
-            }
+            Claims claims = extractAllClaims(token);
+            String role = claims.get("role", String.class);
+
+            return Optional.of(new VerifiedToken(
+                    claims.getSubject(),
+                    claims.get("userId", Long.class),
+                    role != null ? Role.valueOf(role) : null,
+                    claims.getExpiration(),
+                    claims.getId(),
+                    claims.get("tokenVersion", Long.class)));
         } catch (MalformedJwtException e) {
             log.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
             log.error("JWT token is expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
             log.error("JWT token is unsupported: {}", e.getMessage());
+        } catch (JwtException e) {
+            log.error("JWT token is invalid: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             log.error("JWT claims string is empty: {}", e.getMessage());
         }
 
-        return false;
+        return Optional.empty();
     }
 
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    public String getCpfFromToken(String token) {
+        return extractAllClaims(token).getSubject();
     }
 
-    public Long extractUserId(String token) {
-        return extractAllClaims(token).get("userId", Long.class);
+    public boolean validateToken(String token, UserDetails userDetails) {
+        return verify(token)
+                .map(verified -> verified.getSubject().equals(userDetails.getUsername()))
+                .orElse(false);
     }
 
-    public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public String extractUsername(String token) {
+        return extractClaim(token, Claims::getSubject);
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public Date extractExpiration(String token) {
+        return extractClaim(token, Claims::getExpiration);
     }
 
     private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -88,10 +138,6 @@ public class JwtTokenProvider {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .setSigningKey(key())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return jwtParser.parseSignedClaims(token).getPayload();
     }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.api.GerenciadorJwtAuth.security;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+
+/**
+ * Builds the {@link DelegatingPasswordEncoder} used for every password: new hashes get an
+ * {@code {id}} prefix for the configured algorithm, while hashes of any known algorithm, and the
+ * unprefixed BCrypt hashes stored before this existed, keep matching. Both algorithms keep their
+ * cost inside the hash, so {@link PasswordEncoder#upgradeEncoding} reports hashes made with an
+ * older algorithm or a lower cost and they are rehashed on the next successful login.
+ */
+public final class PasswordEncoders {
+
+    public static final String BCRYPT = "bcrypt";
+    public static final String ARGON2 = "argon2";
+
+    private static final int ARGON2_SALT_LENGTH = 16;
+    private static final int ARGON2_HASH_LENGTH = 32;
+
+    private PasswordEncoders() {
+    }
+
+    public static DelegatingPasswordEncoder delegating(String algorithm,
+                                                       int bcryptStrength,
+                                                       int argon2MemoryKib,
+                                                       int argon2Iterations,
+                                                       int argon2Parallelism) {
+        Map<String, PasswordEncoder> encoders = Map.of(
+                BCRYPT, new BCryptPasswordEncoder(bcryptStrength),
+                ARGON2, new Argon2PasswordEncoder(ARGON2_SALT_LENGTH, ARGON2_HASH_LENGTH,
+                        argon2Parallelism, argon2MemoryKib, argon2Iterations));
+
+        if (!encoders.containsKey(algorithm)) {
+            throw new IllegalArgumentException("Unsupported password algorithm: " + algorithm
+                    + " (expected one of " + encoders.keySet() + ")");
+        }
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(algorithm, encoders);
+        encoder.setDefaultPasswordEncoderForMatches(encoders.get(BCRYPT));
+        return encoder;
+    }
+}
@@ -0,0 +1,129 @@
+package com.api.GerenciadorJwtAuth.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * In-memory copy of the revoked token ids, checked on every authenticated request. A Bloom
+ * filter answers the common "not revoked" case without touching the exact set; only a filter
+ * hit, real or false positive, looks the token id up. The persistent copy lives in the
+ * {@code revoked_tokens} table and is loaded through {@code TokenRevocationService}.
+ * <p>
+ * Keys are token ids ({@code jti}) or {@link #userKey(Long)} for every token of a user. Revoked
+ * users are few, so they are kept in a plain set of ids and checked without building a key.
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final String USER_PREFIX = "user:";
+
+    private final int expectedEntries;
+    private final double falsePositiveRate;
+    private volatile State state;
+    // keys added while a reload reads the table; the read may have missed them, so they are
+    // applied again on top of what it returns
+    private final List<String> addedDuringReload = new ArrayList<>();
+    private int reloadsInProgress;
+
+    public TokenRevocationList(@Value("${app.jwt.revocation.expected-entries:100000}") int expectedEntries,
+                               @Value("${app.jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+                               MeterRegistry meterRegistry) {
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.state = State.of(Set.of(), expectedEntries, falsePositiveRate);
+
+        Gauge.builder("auth.revoked.tokens", this, list -> list.state.size())
+                .register(meterRegistry);
+    }
+
+    public static String userKey(Long userId) {
+        return USER_PREFIX + userId;
+    }
+
+    public boolean isRevoked(VerifiedToken token) {
+        State current = state;
+        return current.containsToken(token.getTokenId()) || current.containsUser(token.getUserId());
+    }
+
+    public synchronized void add(String key) {
+        state.add(key);
+        if (reloadsInProgress > 0) {
+            addedDuringReload.add(key);
+        }
+    }
+
+    /**
+     * Swaps in a new filter and set holding exactly {@code keys}. The filter is sized for at least
+     * twice the current entries so it keeps its false positive rate as revocations accumulate.
+     */
+    public void replaceAll(Collection<String> keys) {
+        reload(() -> keys);
+    }
+
+    /**
+     * Like {@link #replaceAll(Collection)} with the keys read by {@code loader}. The loader runs
+     * without holding the lock, so {@link #add(String)} is never blocked by a slow read; keys added
+     * meanwhile are kept in the new state.
+     */
+    public void reload(Supplier<? extends Collection<String>> loader) {
+        synchronized (this) {
+            reloadsInProgress++;
+        }
+        State next = null;
+        try {
+            Collection<String> keys = loader.get();
+            next = State.of(keys, Math.max(expectedEntries, keys.size() * 2), falsePositiveRate);
+        } finally {
+            synchronized (this) {
+                if (next != null) {
+                    addedDuringReload.forEach(next::add);
+                    state = next;
+                }
+                if (--reloadsInProgress == 0) {
+                    addedDuringReload.clear();
+                }
+            }
+        }
+    }
+
+    private record State(BloomFilter filter, Set<String> tokenIds, Set<Long> userIds) {
+
+        static State of(Collection<String> keys, int capacity, double falsePositiveRate) {
+            State state = new State(new BloomFilter(capacity, falsePositiveRate),
+                    ConcurrentHashMap.newKeySet(Math.max(keys.size(), 16)), ConcurrentHashMap.newKeySet());
+            keys.forEach(state::add);
+            return state;
+        }
+
+        void add(String key) {
+            if (key.startsWith(USER_PREFIX)) {
+                userIds.add(Long.valueOf(key.substring(USER_PREFIX.length())));
+            } else {
+                // the exact set first, so a reader that sees the filter bits also finds the id
+                tokenIds.add(key);
+                filter.put(key);
+            }
+        }
+
+        boolean containsToken(String tokenId) {
+            return tokenId != null && filter.mightContain(tokenId) && tokenIds.contains(tokenId);
+        }
+
+        boolean containsUser(Long userId) {
+            return userId != null && !userIds.isEmpty() && userIds.contains(userId);
+        }
+
+        int size() {
+            return tokenIds.size() + userIds.size();
+        }
+    }
+}
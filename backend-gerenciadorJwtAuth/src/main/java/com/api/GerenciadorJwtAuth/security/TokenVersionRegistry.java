@@ -0,0 +1,90 @@
+package com.api.GerenciadorJwtAuth.security;
+
+import com.api.GerenciadorJwtAuth.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Current token version per user, compared with the {@code tokenVersion} claim on every request.
+ * Only the first request of a user loads the version by primary key; after half of {@code ttl-ms}
+ * the next request still gets the cached version while it is reloaded in the background. Users
+ * that do not exist are cached too. Entries expire after {@code ttl-ms}, so bumps made by other
+ * instances are seen within that time; bumps made on this instance are put here on commit.
+ */
+@Component
+public class TokenVersionRegistry {
+
+    private final LoadingCache<Long, Optional<Long>> versions;
+
+    @Autowired
+    public TokenVersionRegistry(UserRepository userRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.security.token-version.max-size:10000}") long maxSize,
+                                @Value("${app.security.token-version.ttl-ms:60000}") long ttlMs) {
+        this(userRepository, meterRegistry, maxSize, ttlMs, Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    TokenVersionRegistry(UserRepository userRepository, MeterRegistry meterRegistry, long maxSize, long ttlMs,
+                         Ticker ticker, Executor refreshExecutor) {
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .refreshAfterWrite(Duration.ofMillis(Math.max(1, ttlMs / 2)))
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .ticker(ticker)
+                .executor(refreshExecutor)
+                .recordStats()
+                .build(userRepository::findTokenVersionById);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, versions, "tokenVersions");
+    }
+
+    /**
+     * Tokens issued before the claim existed count as version 0. A user that no longer exists has
+     * no current version, so none of their tokens are.
+     */
+    public boolean isCurrent(VerifiedToken token) {
+        if (token.getUserId() == null) {
+            return true;
+        }
+        return isCurrent(token.getUserId(), token.getTokenVersion());
+    }
+
+    public boolean isCurrent(Long userId, Long tokenVersion) {
+        long presented = tokenVersion == null ? 0L : tokenVersion;
+        return versions.get(userId).filter(current -> current == presented).isPresent();
+    }
+
+    public void update(Long userId, Long version) {
+        versions.put(userId, Optional.of(version));
+    }
+
+    /**
+     * Puts the version once the surrounding transaction commits, or right away outside one. A
+     * rolled back bump never reaches the registry, and a reload cannot read the old row after it.
+     */
+    public void updateAfterCommit(Long userId, Long version) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update(userId, version);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update(userId, version);
+            }
+        });
+    }
+}
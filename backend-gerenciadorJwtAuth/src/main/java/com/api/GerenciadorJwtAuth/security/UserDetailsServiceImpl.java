@@ -1,21 +1,108 @@
 package com.api.GerenciadorJwtAuth.security;
 
+import com.api.GerenciadorJwtAuth.model.User;
 import com.api.GerenciadorJwtAuth.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
+
+/**
+ * Loads users by CPF for login and keeps them for {@code app.security.user-cache.ttl-ms}. Every
+ * password or role change bumps the user's token version, so a cached copy whose version is no
+ * longer the one in {@link TokenVersionRegistry} is reloaded. A change made on another instance is
+ * therefore picked up within {@code app.security.token-version.ttl-ms}, not the cache TTL: the old
+ * password stops working and new tokens carry the current version.
+ */
 @Service
-@RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final Cache<String, User> userCache;
+
+    public UserDetailsServiceImpl(UserRepository userRepository,
+                                  TokenVersionRegistry tokenVersionRegistry,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.security.user-cache.max-size:1000}") long maxSize,
+                                  @Value("${app.security.user-cache.ttl-ms:300000}") long ttlMs) {
+        this.userRepository = userRepository;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.userCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, userCache, "userDetails");
+    }
 
     @Override
-    public UserDetails loadUserByUsername(String cpf) throws UsernameNotFoundException {
-        return userRepository.findByCpf(cpf)
+    public User loadUserByUsername(String cpf) throws UsernameNotFoundException {
+        User cached = userCache.getIfPresent(cpf);
+        if (cached != null && tokenVersionRegistry.isCurrent(cached.getId(), cached.getTokenVersion())) {
+            return cached;
+        }
+
+        User user = userRepository.findByCpf(cpf)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with CPF: " + cpf));
+        userCache.put(cpf, user);
+        return user;
+    }
+
+    /**
+     * Called by the authentication provider after a successful login with an outdated hash.
+     * If the stored hash changed in the meantime the upgrade is skipped; it happens on a later login.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = (User) userDetails;
+        int updated = userRepository.updatePassword(user.getId(), user.getPassword(), newPassword);
+        evictUser(user.getId());
+
+        if (updated == 0) {
+            return user;
+        }
+
+        return user.toBuilder()
+                .password(newPassword)
+                .version(user.getVersion() == null ? null : user.getVersion() + 1)
+                .build();
+    }
+
+    public void evictUser(Long userId) {
+        userCache.asMap().values().removeIf(user -> userId.equals(user.getId()));
+    }
+
+    /**
+     * Evicts the user once the surrounding transaction commits, or right away outside one. Evicting
+     * earlier would let a concurrent login cache the row as it was before the change.
+     */
+    public void evictUserAfterCommit(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictUser(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evictUser(userId);
+            }
+        });
+    }
+
+    public CacheStats getCacheStats() {
+        return userCache.stats();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,28 @@
+package com.api.GerenciadorJwtAuth.security;
+
+import com.api.GerenciadorJwtAuth.model.Role;
+import com.api.GerenciadorJwtAuth.model.User;
+import lombok.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+@Value
+public class UserPrincipal {
+    Long id;
+    String cpf;
+    Role role;
+
+    public static UserPrincipal from(User user) {
+        return new UserPrincipal(user.getId(), user.getCpf(), user.getRole());
+    }
+
+    public List<GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    public boolean isAdmin() {
+        return role == Role.ADMIN;
+    }
+}
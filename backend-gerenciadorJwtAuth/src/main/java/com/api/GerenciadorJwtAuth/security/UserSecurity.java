@@ -0,0 +1,17 @@
+package com.api.GerenciadorJwtAuth.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+@Component("userSecurity")
+public class UserSecurity {
+
+    public boolean isCurrentUser(Long id) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        return authentication != null
+                && authentication.getPrincipal() instanceof UserPrincipal principal
+                && principal.getId().equals(id);
+    }
+}
@@ -0,0 +1,16 @@
+package com.api.GerenciadorJwtAuth.security;
+
+import com.api.GerenciadorJwtAuth.model.Role;
+import lombok.Value;
+
+import java.util.Date;
+
+@Value
+public class VerifiedToken {
+    String subject;
+    Long userId;
+    Role role;
+    Date expiration;
+    String tokenId;
+    Long tokenVersion;
+}
@@ -2,15 +2,21 @@ package com.api.GerenciadorJwtAuth.service;
 
 import com.api.GerenciadorJwtAuth.dto.AuthRequest;
 import com.api.GerenciadorJwtAuth.dto.AuthResponse;
+import com.api.GerenciadorJwtAuth.dto.RefreshRequest;
+import com.api.GerenciadorJwtAuth.exception.LoginCapacityExceededException;
 import com.api.GerenciadorJwtAuth.exception.UnauthorizedException;
 import com.api.GerenciadorJwtAuth.model.User;
 import com.api.GerenciadorJwtAuth.security.JwtTokenProvider;
+import com.api.GerenciadorJwtAuth.security.VerifiedToken;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -18,28 +24,69 @@ public class AuthService {
 
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider tokenProvider;
+    private final LoginExecutor loginExecutor;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
 
     public AuthResponse authenticate(AuthRequest request) {
         try {
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(request.getCpf(), request.getPassword()));
+            Authentication authentication = loginExecutor.verify(() -> authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(request.getCpf(), request.getPassword())));
 
             SecurityContextHolder.getContext().setAuthentication(authentication);
             String jwt = tokenProvider.generateToken(authentication);
 
             User userDetails = (User) authentication.getPrincipal();
 
-            return AuthResponse.builder()
-                    .token(jwt)
-                    .type("Bearer")
-                    .id(userDetails.getId())
-                    .name(userDetails.getName())
-                    .cpf(userDetails.getCpf())
-                    .role(userDetails.getRole().name())
-                    .build();
+            return buildResponse(userDetails, jwt, refreshTokenService.issue(userDetails));
 
+        } catch (LoginCapacityExceededException e) {
+            throw e;
         } catch (Exception e) {
             throw new UnauthorizedException("Invalid CPF or password");
         }
     }
+
+    /**
+     * Exchanges a refresh token for a new access token and a new refresh token. No password
+     * check is involved, the user and role are read from the database as they are now.
+     */
+    public AuthResponse refresh(RefreshRequest request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+        User user = rotation.user();
+
+        String jwt = tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+
+        return buildResponse(user, jwt, rotation.refreshToken());
+    }
+
+    /**
+     * Revokes the access token and the refresh token's family. Either one is enough, so a client
+     * whose access token already expired can still end its session with the refresh token.
+     */
+    public void logout(String accessToken, String refreshToken) {
+        Optional<VerifiedToken> verifiedToken = tokenProvider.verify(accessToken);
+        if (verifiedToken.isEmpty() && !StringUtils.hasText(refreshToken)) {
+            throw new UnauthorizedException("Invalid access token");
+        }
+
+        verifiedToken.ifPresent(tokenRevocationService::revoke);
+        if (StringUtils.hasText(refreshToken)) {
+            refreshTokenService.revoke(refreshToken);
+        }
+    }
+
+    private AuthResponse buildResponse(User user, String jwt, String refreshToken) {
+        return AuthResponse.builder()
+                .token(jwt)
+                .type("Bearer")
+                .expiresIn(tokenProvider.getExpirationSeconds())
+                .refreshToken(refreshToken)
+                .id(user.getId())
+                .name(user.getName())
+                .cpf(user.getCpf())
+                .role(user.getRole().name())
+                .build();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,106 @@
+package com.api.GerenciadorJwtAuth.service;
+
+import com.api.GerenciadorJwtAuth.dto.CityDTO;
+import com.api.GerenciadorJwtAuth.repository.CityRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory snapshot of all cities. Loaded on first use, dropped after every committed
+ * city write and reloaded after {@code app.cities.cache-ttl-ms} to pick up changes made
+ * by other instances. The returned DTOs are shared, callers must not modify them.
+ */
+@Component
+public class CityCatalog {
+
+    private final CityRepository cityRepository;
+    private final long ttlMs;
+    private final Clock clock;
+
+    // bumped on every invalidation so a load that raced with a write is not installed
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public CityCatalog(CityRepository cityRepository,
+                       @Value("${app.cities.cache-ttl-ms:300000}") long ttlMs) {
+        this(cityRepository, ttlMs, Clock.systemUTC());
+    }
+
+    CityCatalog(CityRepository cityRepository, long ttlMs, Clock clock) {
+        this.cityRepository = cityRepository;
+        this.ttlMs = ttlMs;
+        this.clock = clock;
+    }
+
+    public List<CityDTO> getAll() {
+        return current().cities();
+    }
+
+    public Optional<CityDTO> find(Long id) {
+        return Optional.ofNullable(current().byId().get(id));
+    }
+
+    public boolean contains(Long id) {
+        return id != null && current().byId().containsKey(id);
+    }
+
+    /**
+     * Drops the snapshot once the surrounding transaction commits, or right away outside one.
+     */
+    public void invalidateAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate();
+            }
+        });
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null && !current.isExpired(clock.millis(), ttlMs)) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (current != null && !current.isExpired(clock.millis(), ttlMs)) {
+                return current;
+            }
+            long loadedGeneration = generation.get();
+            List<CityDTO> cities = List.copyOf(cityRepository.findAllDtos());
+            Map<Long, CityDTO> byId = cities.stream().collect(Collectors.toUnmodifiableMap(CityDTO::getId, Function.identity()));
+            current = new Snapshot(cities, byId, clock.millis());
+            if (generation.get() == loadedGeneration) {
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    private record Snapshot(List<CityDTO> cities, Map<Long, CityDTO> byId, long loadedAt) {
+        boolean isExpired(long now, long ttlMs) {
+            return now - loadedAt >= ttlMs;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.api.GerenciadorJwtAuth.service;
 
 import com.api.GerenciadorJwtAuth.dto.CityDTO;
+import com.api.GerenciadorJwtAuth.exception.PreconditionFailedException;
 import com.api.GerenciadorJwtAuth.exception.ResourceNotFoundException;
 import com.api.GerenciadorJwtAuth.model.City;
 import com.api.GerenciadorJwtAuth.repository.CityRepository;
@@ -9,26 +10,21 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class CityService {
 
     private final CityRepository cityRepository;
+    private final CityCatalog cityCatalog;
 
-    @Transactional(readOnly = true)
     public List<CityDTO> getAllCities() {
-        return cityRepository.findAll().stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        return cityCatalog.getAll();
     }
 
-    @Transactional(readOnly = true)
     public CityDTO getCityById(Long id) {
-        City city = cityRepository.findById(id)
+        return cityCatalog.find(id)
                 .orElseThrow(() -> new ResourceNotFoundException("City", "id", id));
-        return mapToDTO(city);
     }
 
     @Transactional
@@ -42,27 +38,37 @@ public class CityService {
         city.setState(cityDTO.getState());
 
         City savedCity = cityRepository.save(city);
+        cityCatalog.invalidateAfterCommit();
         return mapToDTO(savedCity);
     }
 
     @Transactional
-    public CityDTO updateCity(Long id, CityDTO cityDTO) {
+    public CityDTO updateCity(Long id, CityDTO cityDTO, Long expectedVersion) {
         City city = cityRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("City", "id", id));
 
+        if (expectedVersion != null && !expectedVersion.equals(city.getVersion())) {
+            throw new PreconditionFailedException("City", id);
+        }
+
         city.setName(cityDTO.getName());
         city.setState(cityDTO.getState());
 
-        City updatedCity = cityRepository.save(city);
+        City updatedCity = cityRepository.saveAndFlush(city);
+        cityCatalog.invalidateAfterCommit();
         return mapToDTO(updatedCity);
     }
 
     @Transactional
-    public void deleteCity(Long id) {
-        if (!cityRepository.existsById(id)) {
-            throw new ResourceNotFoundException("City", "id", id);
+    public void deleteCity(Long id, Long expectedVersion) {
+        City city = cityRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("City", "id", id));
+
+        if (expectedVersion != null && !expectedVersion.equals(city.getVersion())) {
+            throw new PreconditionFailedException("City", id);
         }
-        cityRepository.deleteById(id);
+        cityRepository.delete(city);
+        cityCatalog.invalidateAfterCommit();
     }
 
     private CityDTO mapToDTO(City city) {
@@ -70,6 +76,7 @@ public class CityService {
         dto.setId(city.getId());
         dto.setName(city.getName());
         dto.setState(city.getState());
+        dto.setVersion(city.getVersion());
         return dto;
     }
 }
\ No newline at end of file
@@ -0,0 +1,107 @@
+package com.api.GerenciadorJwtAuth.service;
+
+import com.api.GerenciadorJwtAuth.exception.LoginCapacityExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs password verification on a small pool of its own, so a burst of logins can only keep
+ * {@code app.auth.login.threads} cores busy with BCrypt while the rest of the API keeps serving.
+ * Logins that do not fit in the queue, or wait in it longer than {@code app.auth.login.timeout-ms},
+ * fail fast with {@link LoginCapacityExceededException}. A verification that has started is
+ * never cut short, so the work spent on it is not thrown away.
+ * <p>
+ * Metrics: executor.queued / executor.active / executor.idle (queue wait) and executor
+ * (verification time) tagged {@code name=login}, plus auth.login.rejected.
+ */
+@Component
+public class LoginExecutor {
+
+    private final ExecutorService executor;
+    private final long timeoutNanos;
+    private final long retryAfterSeconds;
+    private final Counter rejected;
+
+    public LoginExecutor(@Value("${app.auth.login.threads:0}") int threads,
+                         @Value("${app.auth.login.queue-capacity:32}") int queueCapacity,
+                         @Value("${app.auth.login.timeout-ms:5000}") long timeoutMs,
+                         @Value("${app.auth.login.retry-after-seconds:2}") long retryAfterSeconds,
+                         MeterRegistry meterRegistry) {
+        // half the cores by default, leaving the other half to the request threads
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new LoginThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "login");
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.rejected = Counter.builder("auth.login.rejected")
+                .description("Logins refused because the verification pool was saturated")
+                .register(meterRegistry);
+    }
+
+    public <T> T verify(Supplier<T> verification) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                if (System.nanoTime() - submittedAt > timeoutNanos) {
+                    throw reject();
+                }
+                return verification.get();
+            });
+        } catch (RejectedExecutionException e) {
+            throw reject();
+        }
+
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Login verification failed", e.getCause());
+        } catch (InterruptedException e) {
+            // drops the login if it is still queued, lets it finish if it has started
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for login verification", e);
+        }
+    }
+
+    private LoginCapacityExceededException reject() {
+        rejected.increment();
+        return new LoginCapacityExceededException(retryAfterSeconds);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static class LoginThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "login-verify-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.api.GerenciadorJwtAuth.service;
+
+import com.api.GerenciadorJwtAuth.dto.ProductBulkResult;
+import com.api.GerenciadorJwtAuth.dto.ProductDTO;
+import com.api.GerenciadorJwtAuth.exception.ConflictException;
+import com.api.GerenciadorJwtAuth.model.Product;
+import com.api.GerenciadorJwtAuth.model.User;
+import com.api.GerenciadorJwtAuth.repository.CityRepository;
+import com.api.GerenciadorJwtAuth.repository.ProductRepository;
+import com.api.GerenciadorJwtAuth.repository.UserRepository;
+import com.api.GerenciadorJwtAuth.security.UserPrincipal;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class ProductBulkService {
+
+    public static final int MAX_BULK_SIZE = 5000;
+
+    private final ProductRepository productRepository;
+    private final CityRepository cityRepository;
+    private final UserRepository userRepository;
+    private final Validator validator;
+
+    @Transactional
+    public ProductBulkResult importProducts(List<ProductDTO> rows, UserPrincipal principal, boolean upsert) {
+        if (rows.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("A bulk request accepts at most " + MAX_BULK_SIZE + " products");
+        }
+
+        // one query per lookup for the whole request instead of one per row
+        Set<Long> cityIds = rows.stream()
+                .filter(Objects::nonNull)
+                .map(ProductDTO::getCityId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> existingCities = cityIds.isEmpty() ? Set.of() : cityRepository.findExistingIds(cityIds);
+
+        Set<String> codes = rows.stream()
+                .filter(Objects::nonNull)
+                .map(ProductDTO::getProductCode)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, Product> existingProducts = codes.isEmpty() ? Map.of() : productRepository.findByProductCodeIn(codes)
+                .stream()
+                .collect(Collectors.toMap(Product::getProductCode, Function.identity()));
+
+        User owner = userRepository.getReferenceById(principal.getId());
+
+        ProductBulkResult result = new ProductBulkResult();
+        Set<String> seenCodes = new HashSet<>();
+        List<Product> newProducts = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            ProductDTO row = rows.get(i);
+            String error = validate(row, seenCodes, existingCities);
+
+            if (error == null) {
+                Product existing = existingProducts.get(row.getProductCode());
+                if (existing == null) {
+                    Product product = new Product();
+                    product.setUser(owner);
+                    apply(row, product);
+                    newProducts.add(product);
+                } else if (!upsert) {
+                    error = "Product code already exists";
+                } else if (!principal.isAdmin() && !existing.getUser().getId().equals(principal.getId())) {
+                    error = "You don't have permission to update this product";
+                } else {
+                    apply(row, existing);
+                    result.setUpdated(result.getUpdated() + 1);
+                }
+            }
+
+            if (error != null) {
+                result.getErrors().add(new ProductBulkResult.RowError(i, row != null ? row.getProductCode() : null, error));
+            }
+        }
+
+        try {
+            // flushed here so a code inserted by another request since the lookup surfaces as a 409
+            productRepository.saveAllAndFlush(newProducts);
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException("Another request created one of these products meanwhile; nothing was saved, please retry");
+        }
+        result.setCreated(newProducts.size());
+        return result;
+    }
+
+    private String validate(ProductDTO row, Set<String> seenCodes, Set<Long> existingCities) {
+        if (row == null) {
+            return "Product is required";
+        }
+
+        Set<ConstraintViolation<ProductDTO>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+
+        if (!seenCodes.add(row.getProductCode())) {
+            return "Product code is repeated in this request";
+        }
+
+        if (!existingCities.contains(row.getCityId())) {
+            return String.format("City not found with id: '%s'", row.getCityId());
+        }
+
+        return null;
+    }
+
+    private void apply(ProductDTO row, Product product) {
+        product.setProductCode(row.getProductCode());
+        product.setProductName(row.getProductName());
+        product.setProductValue(row.getProductValue());
+        product.setStock(row.getStock());
+        product.setCity(cityRepository.getReferenceById(row.getCityId()));
+    }
+}
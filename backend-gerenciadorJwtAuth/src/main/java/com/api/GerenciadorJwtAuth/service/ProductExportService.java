@@ -0,0 +1,86 @@
+package com.api.GerenciadorJwtAuth.service;
+
+import com.api.GerenciadorJwtAuth.dto.ProductDTO;
+import com.api.GerenciadorJwtAuth.dto.ProductFileFormat;
+import com.api.GerenciadorJwtAuth.model.Product;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.stream.Stream;
+
+@Service
+public class ProductExportService {
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    // CsvMapper sorts columns alphabetically by default; keep the DTO's field order instead
+    private final CsvMapper csvMapper = CsvMapper.builder()
+            .disable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .build();
+    private final int fetchSize;
+
+    public ProductExportService(EntityManager entityManager,
+                                ObjectMapper objectMapper,
+                                @Value("${app.export.fetch-size:1000}") int fetchSize) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    @Transactional(readOnly = true)
+    public long export(ProductFileFormat format, OutputStream out) throws IOException {
+        return format == ProductFileFormat.CSV ? exportCsv(out) : exportNdjson(out);
+    }
+
+    private long exportNdjson(OutputStream out) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+             Stream<Product> products = streamProducts()) {
+            generator.setRootValueSeparator(null);
+            for (Product product : (Iterable<Product>) products::iterator) {
+                objectMapper.writeValue(generator, toDetachedDTO(product));
+                generator.writeRaw('\n');
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private long exportCsv(OutputStream out) throws IOException {
+        CsvSchema schema = csvMapper.schemaFor(ProductDTO.class).withHeader();
+        long count = 0;
+        try (SequenceWriter writer = csvMapper.writer(schema).writeValues(out);
+             Stream<Product> products = streamProducts()) {
+            for (Product product : (Iterable<Product>) products::iterator) {
+                writer.write(toDetachedDTO(product));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private Stream<Product> streamProducts() {
+        return entityManager.createQuery("SELECT p FROM Product p ORDER BY p.id", Product.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private ProductDTO toDetachedDTO(Product product) {
+        ProductDTO dto = ProductService.mapToDTO(product);
+        // nothing should stay in the persistence context once the row has been written
+        entityManager.detach(product);
+        return dto;
+    }
+}
@@ -0,0 +1,104 @@
+package com.api.GerenciadorJwtAuth.service;
+
+import com.api.GerenciadorJwtAuth.dto.ProductBulkResult;
+import com.api.GerenciadorJwtAuth.dto.ProductImportStatus;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Progress of one import. The request thread counts parsed rows while the writer thread
+ * records batch results, and status requests read both, so every counter is atomic.
+ */
+class ProductImportJob {
+
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    @Getter
+    private final String id = UUID.randomUUID().toString();
+    @Getter
+    private final Long userId;
+    private final Consumer<ProductImportJob> onFinish;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final long startedNanos = System.nanoTime();
+
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong updated = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final List<ProductBulkResult.RowError> errors = new ArrayList<>();
+
+    private volatile ProductImportStatus.State state = ProductImportStatus.State.RUNNING;
+    private volatile LocalDateTime finishedAt;
+    private volatile long finishedNanos;
+    private volatile String message;
+
+    ProductImportJob(Long userId, Consumer<ProductImportJob> onFinish) {
+        this.userId = userId;
+        this.onFinish = onFinish;
+    }
+
+    boolean isRunning() {
+        return finishedAt == null;
+    }
+
+    long nextRow() {
+        return rowsRead.getAndIncrement();
+    }
+
+    void recordBatch(long[] rowNumbers, ProductBulkResult result) {
+        created.addAndGet(result.getCreated());
+        updated.addAndGet(result.getUpdated());
+        for (ProductBulkResult.RowError error : result.getErrors()) {
+            recordError(rowNumbers[(int) error.getIndex()], error.getProductCode(), error.getMessage());
+        }
+    }
+
+    void recordError(long row, String productCode, String message) {
+        failed.incrementAndGet();
+        // keep only the first errors so a bad file cannot grow the job without bound
+        synchronized (errors) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ProductBulkResult.RowError(row, productCode, message));
+            }
+        }
+    }
+
+    void complete() {
+        finish(ProductImportStatus.State.COMPLETED, null);
+    }
+
+    void fail(String message) {
+        finish(ProductImportStatus.State.FAILED, message);
+    }
+
+    private void finish(ProductImportStatus.State state, String message) {
+        this.finishedNanos = System.nanoTime();
+        this.message = message;
+        this.finishedAt = LocalDateTime.now();
+        // the job is no longer running from here on, but status readers only see that once the state is set
+        onFinish.accept(this);
+        this.state = state;
+    }
+
+    ProductImportStatus toStatus() {
+        ProductImportStatus.State currentState = state;
+        long end = currentState == ProductImportStatus.State.RUNNING ? System.nanoTime() : finishedNanos;
+        double seconds = Math.max(Duration.ofNanos(end - startedNanos).toMillis(), 1) / 1000.0;
+        long processed = created.get() + updated.get() + failed.get();
+
+        List<ProductBulkResult.RowError> reportedErrors;
+        synchronized (errors) {
+            reportedErrors = List.copyOf(errors);
+        }
+
+        return new ProductImportStatus(id, currentState, rowsRead.get(), created.get(), updated.get(), failed.get(),
+                processed / seconds, startedAt, finishedAt, message, reportedErrors);
+    }
+}
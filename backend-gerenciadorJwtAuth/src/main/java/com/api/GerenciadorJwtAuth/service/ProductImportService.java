@@ -0,0 +1,251 @@
+package com.api.GerenciadorJwtAuth.service;
+
+import com.api.GerenciadorJwtAuth.dto.ProductBulkResult;
+import com.api.GerenciadorJwtAuth.dto.ProductDTO;
+import com.api.GerenciadorJwtAuth.dto.ProductFileFormat;
+import com.api.GerenciadorJwtAuth.dto.ProductImportStatus;
+import com.api.GerenciadorJwtAuth.exception.InvalidImportFileException;
+import com.api.GerenciadorJwtAuth.exception.ResourceNotFoundException;
+import com.api.GerenciadorJwtAuth.security.UserPrincipal;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.*;
+
+@Slf4j
+@Service
+public class ProductImportService {
+
+    private static final Batch END = new Batch(List.of(), new long[0]);
+    private static final int MAX_FINISHED_JOBS = 1000;
+    private static final Duration FINISHED_JOB_RETENTION = Duration.ofHours(1);
+
+    private final ProductBulkService productBulkService;
+    private final ObjectReader jsonReader;
+    private final ObjectReader csvReader;
+    private final int batchSize;
+    private final int queueCapacity;
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private final Cache<String, ProductImportJob> jobs;
+
+    @Autowired
+    public ProductImportService(ProductBulkService productBulkService,
+                                ObjectMapper objectMapper,
+                                @Value("${app.import.batch-size:500}") int batchSize,
+                                @Value("${app.import.queue-capacity:4}") int queueCapacity) {
+        this(productBulkService, objectMapper, batchSize, queueCapacity, Ticker.systemTicker());
+    }
+
+    ProductImportService(ProductBulkService productBulkService,
+                         ObjectMapper objectMapper,
+                         int batchSize,
+                         int queueCapacity,
+                         Ticker ticker) {
+        this.productBulkService = productBulkService;
+        this.jsonReader = objectMapper.readerFor(ProductDTO.class);
+        this.csvReader = CsvMapper.builder()
+                .disable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+                .build()
+                .readerFor(ProductDTO.class)
+                .with(CsvSchema.emptySchema().withHeader());
+        this.batchSize = Math.min(batchSize, ProductBulkService.MAX_BULK_SIZE);
+        this.queueCapacity = queueCapacity;
+        // a running job weighs nothing and never expires, so only finished jobs are ever dropped
+        this.jobs = Caffeine.newBuilder()
+                .maximumWeight(MAX_FINISHED_JOBS)
+                .weigher((String id, ProductImportJob job) -> job.isRunning() ? 0 : 1)
+                .expireAfter(new Expiry<String, ProductImportJob>() {
+                    @Override
+                    public long expireAfterCreate(String id, ProductImportJob job, long currentTime) {
+                        return retention(job);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String id, ProductImportJob job, long currentTime, long currentDuration) {
+                        return retention(job);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String id, ProductImportJob job, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * Copies {@code in} to a temporary file and returns the job as soon as the file is known to
+     * start like the given format, so a file that cannot be read at all is rejected without a job.
+     * A background thread then parses the file and hands fixed-size batches to a writer thread
+     * through a bounded queue. Each batch is committed on its own, so rows written before a
+     * failure stay written. Memory use depends on batch size and queue capacity, not file size.
+     */
+    public ProductImportStatus importProducts(InputStream in, ProductFileFormat format, UserPrincipal principal, boolean upsert)
+            throws IOException {
+        Path file = Files.createTempFile("product-import-", "." + format.name().toLowerCase());
+        MappingIterator<ProductDTO> rows;
+        try {
+            Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+            rows = open(file, format);
+        } catch (IOException | RuntimeException e) {
+            delete(file);
+            throw e;
+        }
+
+        // putting the finished job again weighs it and starts its retention
+        ProductImportJob job = new ProductImportJob(principal.getId(), finished -> jobs.put(finished.getId(), finished));
+        jobs.put(job.getId(), job);
+        workers.submit(() -> run(job, rows, file, principal, upsert));
+        return job.toStatus();
+    }
+
+    // reads the CSV header or the first JSON token
+    private MappingIterator<ProductDTO> open(Path file, ProductFileFormat format) throws IOException {
+        InputStream in = Files.newInputStream(file);
+        try {
+            MappingIterator<ProductDTO> rows = (format == ProductFileFormat.CSV ? csvReader : jsonReader).readValues(in);
+            rows.hasNextValue();
+            return rows;
+        } catch (JsonProcessingException e) {
+            in.close();
+            throw new InvalidImportFileException("Reading failed: " + e.getOriginalMessage());
+        }
+    }
+
+    private void run(ProductImportJob job, MappingIterator<ProductDTO> rows, Path file, UserPrincipal principal, boolean upsert) {
+        BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(queueCapacity);
+        Future<?> writer = workers.submit(() -> write(job, queue, principal, upsert));
+
+        try (rows) {
+            List<ProductDTO> batch = new ArrayList<>(batchSize);
+            long[] rowNumbers = new long[batchSize];
+            while (rows.hasNextValue()) {
+                long row = job.nextRow();
+                ProductDTO product;
+                try {
+                    product = rows.nextValue();
+                } catch (DatabindException e) {
+                    // the row could not be bound to a ProductDTO; the iterator resyncs on the next one
+                    job.recordError(row, null, "Invalid row: " + e.getOriginalMessage());
+                    continue;
+                }
+
+                rowNumbers[batch.size()] = row;
+                batch.add(product);
+                if (batch.size() == batchSize) {
+                    enqueue(queue, new Batch(batch, rowNumbers), writer);
+                    batch = new ArrayList<>(batchSize);
+                    rowNumbers = new long[batchSize];
+                }
+            }
+            if (!batch.isEmpty()) {
+                enqueue(queue, new Batch(batch, rowNumbers), writer);
+            }
+            enqueue(queue, END, writer);
+            writer.get();
+            job.complete();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writer.cancel(true);
+            job.fail("Import was interrupted");
+        } catch (ExecutionException e) {
+            job.fail("Writing failed: " + e.getCause().getMessage());
+        } catch (IOException | RuntimeException e) {
+            writer.cancel(true);
+            job.fail("Reading failed: " + e.getMessage());
+        } finally {
+            delete(file);
+        }
+    }
+
+    public ProductImportStatus getJob(String id, UserPrincipal principal) {
+        ProductImportJob job = jobs.getIfPresent(id);
+        if (job == null || !(principal.isAdmin() || job.getUserId().equals(principal.getId()))) {
+            throw new ResourceNotFoundException("Import job", "id", id);
+        }
+        return job.toStatus();
+    }
+
+    public List<ProductImportStatus> getJobs(UserPrincipal principal) {
+        return jobs.asMap().values().stream()
+                .filter(job -> principal.isAdmin() || job.getUserId().equals(principal.getId()))
+                .map(ProductImportJob::toStatus)
+                .sorted(Comparator.comparing(ProductImportStatus::getStartedAt).reversed())
+                .toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private static long retention(ProductImportJob job) {
+        return job.isRunning() ? Long.MAX_VALUE : FINISHED_JOB_RETENTION.toNanos();
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete import file {}", file, e);
+        }
+    }
+
+    private Void write(ProductImportJob job, BlockingQueue<Batch> queue, UserPrincipal principal, boolean upsert)
+            throws InterruptedException {
+        while (true) {
+            Batch batch = queue.take();
+            if (batch == END) {
+                return null;
+            }
+            ProductBulkResult result = productBulkService.importProducts(batch.getRows(), principal, upsert);
+            job.recordBatch(batch.getRowNumbers(), result);
+        }
+    }
+
+    // blocks while the writer is behind, but gives up as soon as the writer has died
+    private void enqueue(BlockingQueue<Batch> queue, Batch batch, Future<?> writer)
+            throws InterruptedException, ExecutionException {
+        while (!queue.offer(batch, 100, TimeUnit.MILLISECONDS)) {
+            if (writer.isDone()) {
+                writer.get();
+                throw new IllegalStateException("Import writer stopped");
+            }
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static final class Batch {
+        private final List<ProductDTO> rows;
+        // position of each row in the file, since rows that failed to parse never reach a batch
+        private final long[] rowNumbers;
+    }
+}
@@ -1,6 +1,10 @@
 package com.api.GerenciadorJwtAuth.service;
 
+import com.api.GerenciadorJwtAuth.dto.CursorPage;
+import com.api.GerenciadorJwtAuth.dto.ProductCursor;
 import com.api.GerenciadorJwtAuth.dto.ProductDTO;
+import com.api.GerenciadorJwtAuth.dto.ProductFilter;
+import com.api.GerenciadorJwtAuth.exception.PreconditionFailedException;
 import com.api.GerenciadorJwtAuth.exception.ResourceNotFoundException;
 import com.api.GerenciadorJwtAuth.exception.UnauthorizedException;
 import com.api.GerenciadorJwtAuth.model.City;
@@ -11,32 +15,102 @@ import com.api.GerenciadorJwtAuth.repository.CityRepository;
 import com.api.GerenciadorJwtAuth.repository.ProductRepository;
 import com.api.GerenciadorJwtAuth.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class ProductService {
 
+    public static final int MAX_PAGE_SIZE = 100;
+
+    // sort keys clients may use and the properties they map to; anything else could order by
+    // another user's columns or by a column without an index
+    private static final Map<String, String> SORT_PROPERTIES = Map.of(
+            "id", "id",
+            "name", "productName",
+            "price", "productValue",
+            "stock", "stock",
+            "updatedAt", "updatedAt");
+
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
     private final CityRepository cityRepository;
+    private final CityCatalog cityCatalog;
 
     @Transactional(readOnly = true)
-    public List<ProductDTO> getAllProducts() {
-        return productRepository.findAll().stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+    public Page<ProductDTO> getAllProducts(ProductFilter filter, Pageable pageable) {
+        pageable = PageRequest.of(pageable.getPageNumber(),
+                Math.min(pageable.getPageSize(), MAX_PAGE_SIZE),
+                toSortProperties(pageable.getSort()));
+
+        return productRepository.search(
+                filter.getCityId(),
+                filter.getUserId(),
+                StringUtils.hasText(filter.getCodePrefix()) ? filter.getCodePrefix() : null,
+                filter.getMinValue(),
+                filter.getMaxValue(),
+                filter.getMinStock(),
+                filter.getMaxStock(),
+                pageable);
+    }
+
+    private static Sort toSortProperties(Sort sort) {
+        List<Sort.Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            String property = SORT_PROPERTIES.get(order.getProperty());
+            if (property == null) {
+                throw new IllegalArgumentException("Invalid sort property: " + order.getProperty());
+            }
+            orders.add(order.withProperty(property));
+        }
+        return Sort.by(orders);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ProductDTO> scrollProducts(String cursor, ProductCursor.Order order, int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        ProductCursor after = cursor != null ? ProductCursor.decode(cursor) : null;
+        if (after != null) {
+            order = after.getOrder();
+        }
+
+        // one extra row tells us whether there is a next page without a count query
+        List<Product> products = findAfter(order, after, Limit.of(limit + 1));
+        String nextCursor = null;
+        if (products.size() > limit) {
+            products = products.subList(0, limit);
+            nextCursor = ProductCursor.after(order, products.get(limit - 1)).encode();
+        }
+
+        return new CursorPage<>(products.stream().map(ProductService::mapToDTO).toList(), nextCursor);
+    }
+
+    private List<Product> findAfter(ProductCursor.Order order, ProductCursor after, Limit limit) {
+        if (order == ProductCursor.Order.UPDATED_AT) {
+            return after == null
+                    ? productRepository.findByOrderByUpdatedAtAscIdAsc(limit)
+                    : productRepository.findAfterUpdatedAt(after.getUpdatedAt(), after.getId(), limit);
+        }
+        return after == null
+                ? productRepository.findByOrderByIdAsc(limit)
+                : productRepository.findByIdGreaterThanOrderByIdAsc(after.getId(), limit);
     }
 
     @Transactional(readOnly = true)
     public ProductDTO getProductById(Long id) {
-        Product product = productRepository.findById(id)
+        return productRepository.findDtoById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
-        return mapToDTO(product);
     }
 
     @Transactional
@@ -48,8 +122,7 @@ public class ProductService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
 
-        City city = cityRepository.findById(productDTO.getCityId())
-                .orElseThrow(() -> new ResourceNotFoundException("City", "id", productDTO.getCityId()));
+        City city = cityReference(productDTO.getCityId());
 
         Product product = new Product();
         product.setProductCode(productDTO.getProductCode());
@@ -64,7 +137,7 @@ public class ProductService {
     }
 
     @Transactional
-    public ProductDTO updateProduct(Long id, ProductDTO productDTO, Long userId) {
+    public ProductDTO updateProduct(Long id, ProductDTO productDTO, Long userId, Long expectedVersion) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
 
@@ -73,13 +146,16 @@ public class ProductService {
             throw new UnauthorizedException("You don't have permission to update this product");
         }
 
+        if (expectedVersion != null && !expectedVersion.equals(product.getVersion())) {
+            throw new PreconditionFailedException("Product", id);
+        }
+
         if (!product.getProductCode().equals(productDTO.getProductCode()) &&
                 productRepository.existsByProductCode(productDTO.getProductCode())) {
             throw new IllegalArgumentException("Product code already exists");
         }
 
-        City city = cityRepository.findById(productDTO.getCityId())
-                .orElseThrow(() -> new ResourceNotFoundException("City", "id", productDTO.getCityId()));
+        City city = cityReference(productDTO.getCityId());
 
         product.setProductCode(productDTO.getProductCode());
         product.setProductName(productDTO.getProductName());
@@ -87,12 +163,13 @@ public class ProductService {
         product.setStock(productDTO.getStock());
         product.setCity(city);
 
-        Product updatedProduct = productRepository.save(product);
+        // flush so the returned version (and ETag) is the one written
+        Product updatedProduct = productRepository.saveAndFlush(product);
         return mapToDTO(updatedProduct);
     }
 
     @Transactional
-    public void deleteProduct(Long id, Long userId) {
+    public void deleteProduct(Long id, Long userId, Long expectedVersion) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
 
@@ -101,10 +178,22 @@ public class ProductService {
             throw new UnauthorizedException("You don't have permission to delete this product");
         }
 
-        productRepository.deleteById(id);
+        if (expectedVersion != null && !expectedVersion.equals(product.getVersion())) {
+            throw new PreconditionFailedException("Product", id);
+        }
+
+        productRepository.delete(product);
+    }
+
+    // the catalog answers "does it exist" without a query, the reference costs none either
+    private City cityReference(Long cityId) {
+        if (!cityCatalog.contains(cityId)) {
+            throw new ResourceNotFoundException("City", "id", cityId);
+        }
+        return cityRepository.getReferenceById(cityId);
     }
 
-    private ProductDTO mapToDTO(Product product) {
+    static ProductDTO mapToDTO(Product product) {
         ProductDTO dto = new ProductDTO();
         dto.setId(product.getId());
         dto.setProductCode(product.getProductCode());
@@ -113,6 +202,7 @@ public class ProductService {
         dto.setStock(product.getStock());
         dto.setCityId(product.getCity().getId());
         dto.setUserId(product.getUser().getId());
+        dto.setVersion(product.getVersion());
         return dto;
     }
 }
\ No newline at end of file
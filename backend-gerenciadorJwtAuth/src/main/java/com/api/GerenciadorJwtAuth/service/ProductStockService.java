@@ -0,0 +1,112 @@
+package com.api.GerenciadorJwtAuth.service;
+
+import com.api.GerenciadorJwtAuth.dto.StockAdjustment;
+import com.api.GerenciadorJwtAuth.dto.StockAdjustmentResult;
+import com.api.GerenciadorJwtAuth.exception.ResourceNotFoundException;
+import com.api.GerenciadorJwtAuth.exception.UnauthorizedException;
+import com.api.GerenciadorJwtAuth.repository.ProductStockRepository;
+import com.api.GerenciadorJwtAuth.security.UserPrincipal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class ProductStockService {
+
+    public static final int MAX_BATCH_SIZE = 5000;
+
+    private final ProductStockRepository productStockRepository;
+
+    @Transactional
+    public void adjustStock(Long productId, int delta, UserPrincipal principal) {
+        int[] counts = productStockRepository.applyDeltas(List.of(new StockAdjustment(productId, delta)), ownerFilter(principal));
+        if (counts[0] > 0) {
+            return;
+        }
+
+        Long ownerId = productStockRepository.findOwnerIds(Set.of(productId)).get(productId);
+        if (ownerId == null) {
+            throw new ResourceNotFoundException("Product", "id", productId);
+        }
+        if (!principal.isAdmin() && !ownerId.equals(principal.getId())) {
+            throw new UnauthorizedException("You don't have permission to update this product");
+        }
+        throw new IllegalArgumentException(stockLimitReason(delta) + " for product with id: " + productId);
+    }
+
+    @Transactional
+    public StockAdjustmentResult adjustStocks(List<StockAdjustment> adjustments, UserPrincipal principal) {
+        if (adjustments.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("A stock batch accepts at most " + MAX_BATCH_SIZE + " adjustments");
+        }
+
+        StockAdjustmentResult result = new StockAdjustmentResult();
+        List<StockAdjustment> valid = new ArrayList<>(adjustments.size());
+        List<Integer> validIndexes = new ArrayList<>(adjustments.size());
+        for (int i = 0; i < adjustments.size(); i++) {
+            StockAdjustment adjustment = adjustments.get(i);
+            if (adjustment == null || adjustment.getProductId() == null) {
+                result.getErrors().add(new StockAdjustmentResult.RowError(i, null, "Product ID is required"));
+            } else if (adjustment.getDelta() == null) {
+                result.getErrors().add(new StockAdjustmentResult.RowError(i, adjustment.getProductId(), "Delta is required"));
+            } else {
+                valid.add(adjustment);
+                validIndexes.add(i);
+            }
+        }
+        if (valid.isEmpty()) {
+            return result;
+        }
+
+        int[] counts = productStockRepository.applyDeltas(valid, ownerFilter(principal));
+
+        // only rows that matched nothing need a second look, and one query covers all of them
+        Set<Long> rejectedIds = new HashSet<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                result.setUpdated(result.getUpdated() + 1);
+            } else {
+                rejectedIds.add(valid.get(i).getProductId());
+            }
+        }
+        if (rejectedIds.isEmpty()) {
+            return result;
+        }
+
+        Map<Long, Long> owners = productStockRepository.findOwnerIds(rejectedIds);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                StockAdjustment adjustment = valid.get(i);
+                result.getErrors().add(new StockAdjustmentResult.RowError(validIndexes.get(i), adjustment.getProductId(),
+                        rejectionReason(owners.get(adjustment.getProductId()), adjustment.getDelta(), principal)));
+            }
+        }
+        result.getErrors().sort((a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+        return result;
+    }
+
+    private static Long ownerFilter(UserPrincipal principal) {
+        return principal.isAdmin() ? null : principal.getId();
+    }
+
+    private static String rejectionReason(Long ownerId, int delta, UserPrincipal principal) {
+        if (ownerId == null) {
+            return "Product not found";
+        }
+        if (!principal.isAdmin() && !ownerId.equals(principal.getId())) {
+            return "You don't have permission to update this product";
+        }
+        return stockLimitReason(delta);
+    }
+
+    private static String stockLimitReason(int delta) {
+        return delta < 0 ? "Insufficient stock" : "Stock would exceed the maximum of " + Integer.MAX_VALUE;
+    }
+}
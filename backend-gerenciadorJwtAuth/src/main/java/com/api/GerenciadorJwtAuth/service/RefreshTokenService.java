@@ -0,0 +1,123 @@
+package com.api.GerenciadorJwtAuth.service;
+
+import com.api.GerenciadorJwtAuth.exception.UnauthorizedException;
+import com.api.GerenciadorJwtAuth.model.RefreshToken;
+import com.api.GerenciadorJwtAuth.model.User;
+import com.api.GerenciadorJwtAuth.repository.RefreshTokenRepository;
+import com.api.GerenciadorJwtAuth.security.TokenDigests;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Issues and rotates refresh tokens. A token is 256 random bits, so a plain SHA-256 is enough
+ * to store it and a refresh costs one indexed lookup instead of a password check. Each token
+ * can be used once; presenting a token that was already rotated revokes its whole family,
+ * since either the client or someone who copied the token is replaying it.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Duration lifetime;
+    private final Clock clock;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Autowired
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               @Value("${app.jwt.refresh-expiration:1209600000}") long refreshExpirationMs) {
+        this(refreshTokenRepository, refreshExpirationMs, Clock.systemUTC());
+    }
+
+    RefreshTokenService(RefreshTokenRepository refreshTokenRepository, long refreshExpirationMs, Clock clock) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.lifetime = Duration.ofMillis(refreshExpirationMs);
+        this.clock = clock;
+    }
+
+    /**
+     * Starts a new token family for a fresh login and returns the token to hand to the client.
+     */
+    public String issue(User user) {
+        return issue(user, UUID.randomUUID().toString(), clock.instant());
+    }
+
+    /**
+     * Consumes the presented token and returns its user together with the token that replaces it.
+     */
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public Rotation rotate(String token) {
+        RefreshToken current = refreshTokenRepository.findByTokenHash(TokenDigests.sha256Hex(token))
+                .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
+
+        Instant now = clock.instant();
+        if (!current.getExpiresAt().isAfter(now)) {
+            throw new UnauthorizedException("Refresh token has expired");
+        }
+
+        if (current.getRevokedAt() != null || refreshTokenRepository.revoke(current.getId(), now) == 0) {
+            int revoked = refreshTokenRepository.revokeFamily(current.getFamily(), now);
+            log.warn("Refresh token {} of user {} was reused, revoked {} token(s) of its family",
+                    current.getId(), current.getUser().getId(), revoked);
+            throw new UnauthorizedException("Refresh token has already been used");
+        }
+
+        User user = current.getUser();
+        return new Rotation(user, issue(user, current.getFamily(), now));
+    }
+
+    /**
+     * Revokes the presented token and every other token of the same login. Unknown tokens are ignored.
+     */
+    @Transactional
+    public void revoke(String token) {
+        refreshTokenRepository.findByTokenHash(TokenDigests.sha256Hex(token))
+                .ifPresent(current -> refreshTokenRepository.revokeFamily(current.getFamily(), clock.instant()));
+    }
+
+    /**
+     * Revokes every refresh token of a user, so no new access token can be obtained without logging in.
+     */
+    public void revokeAll(Long userId) {
+        refreshTokenRepository.revokeAllForUser(userId, clock.instant());
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.refresh-purge-interval-ms:3600000}",
+            initialDelayString = "${app.jwt.refresh-purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(clock.instant());
+        if (deleted > 0) {
+            log.debug("Purged {} expired refresh token(s)", deleted);
+        }
+    }
+
+    private String issue(User user, String family, Instant now) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(TokenDigests.sha256Hex(token))
+                .family(family)
+                .user(user)
+                .expiresAt(now.plus(lifetime))
+                .build());
+        return token;
+    }
+
+    public record Rotation(User user, String refreshToken) {
+    }
+}
@@ -0,0 +1,95 @@
+package com.api.GerenciadorJwtAuth.service;
+
+import com.api.GerenciadorJwtAuth.model.RevokedToken;
+import com.api.GerenciadorJwtAuth.repository.RevokedTokenRepository;
+import com.api.GerenciadorJwtAuth.security.TokenRevocationList;
+import com.api.GerenciadorJwtAuth.security.VerifiedToken;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Persists revocations and keeps {@link TokenRevocationList} in sync with the table. The list is
+ * rebuilt at startup and every {@code app.jwt.revocation.reload-interval-ms}, which drops entries
+ * whose tokens have expired and picks up revocations made by other instances. A reload does not
+ * block writes: revocations added to the list while it reads the table are kept after the swap.
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TokenRevocationList revocationList;
+    private final Duration accessTokenLifetime;
+    private final Clock clock;
+
+    @Autowired
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  TokenRevocationList revocationList,
+                                  @Value("${app.jwt.expiration}") long jwtExpirationMs) {
+        this(revokedTokenRepository, revocationList, jwtExpirationMs, Clock.systemUTC());
+    }
+
+    TokenRevocationService(RevokedTokenRepository revokedTokenRepository, TokenRevocationList revocationList,
+                           long jwtExpirationMs, Clock clock) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.revocationList = revocationList;
+        this.accessTokenLifetime = Duration.ofMillis(jwtExpirationMs);
+        this.clock = clock;
+    }
+
+    /**
+     * Revokes a single access token until it expires.
+     */
+    public void revoke(VerifiedToken token) {
+        if (token.getTokenId() == null) {
+            log.warn("Token of user {} has no id and cannot be revoked", token.getUserId());
+            return;
+        }
+        remember(token.getTokenId(), token.getExpiration().toInstant());
+    }
+
+    /**
+     * Revokes every access token issued to a user so far, for as long as any of them can be valid.
+     */
+    public void revokeUser(Long userId) {
+        remember(TokenRevocationList.userKey(userId), clock.instant().plus(accessTokenLifetime));
+    }
+
+    @PostConstruct
+    void load() {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.reload-interval-ms:60000}",
+            initialDelayString = "${app.jwt.revocation.reload-interval-ms:60000}")
+    public void reload() {
+        Instant now = clock.instant();
+        revokedTokenRepository.deleteExpired(now);
+        revocationList.reload(() -> revokedTokenRepository.findActiveTokenIds(now));
+    }
+
+    // the list is told only once the row is committed, so a reload either reads it or sees the add
+    private void remember(String key, Instant expiresAt) {
+        revokedTokenRepository.save(new RevokedToken(key, expiresAt));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            revocationList.add(key);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                revocationList.add(key);
+            }
+        });
+    }
+}
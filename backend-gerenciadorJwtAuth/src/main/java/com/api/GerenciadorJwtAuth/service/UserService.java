@@ -2,16 +2,19 @@ package com.api.GerenciadorJwtAuth.service;
 
 import com.api.GerenciadorJwtAuth.dto.UserCreateDTO;
 import com.api.GerenciadorJwtAuth.dto.UserDTO;
+import com.api.GerenciadorJwtAuth.exception.PreconditionFailedException;
 import com.api.GerenciadorJwtAuth.exception.ResourceNotFoundException;
 import com.api.GerenciadorJwtAuth.model.Role;
 import com.api.GerenciadorJwtAuth.model.User;
 import com.api.GerenciadorJwtAuth.repository.UserRepository;
+import com.api.GerenciadorJwtAuth.security.TokenVersionRegistry;
+import com.api.GerenciadorJwtAuth.security.UserDetailsServiceImpl;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -19,17 +22,18 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserDetailsServiceImpl userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenVersionRegistry tokenVersionRegistry;
 
     public List<UserDTO> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        return userRepository.findAllDtos();
     }
 
     public UserDTO getUserById(Long id) {
-        User user = userRepository.findById(id)
+        return userRepository.findDtoById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
-        return mapToDTO(user);
     }
 
     public UserDTO createUser(UserCreateDTO userCreateDTO) {
@@ -49,31 +53,72 @@ public class UserService {
         return mapToDTO(savedUser);
     }
 
-    public UserDTO updateUser(Long id, UserCreateDTO userCreateDTO) {
+    @Transactional
+    public UserDTO updateUser(Long id, UserCreateDTO userCreateDTO, Long expectedVersion) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
 
+        if (expectedVersion != null && !expectedVersion.equals(user.getVersion())) {
+            throw new PreconditionFailedException("User", id);
+        }
+
         user.setName(userCreateDTO.getName());
         user.setCpf(userCreateDTO.getCpf());
 
         // Only update password if provided
-        if (userCreateDTO.getPassword() != null && !userCreateDTO.getPassword().isEmpty()) {
+        boolean passwordChanged = userCreateDTO.getPassword() != null && !userCreateDTO.getPassword().isEmpty();
+        if (passwordChanged) {
             user.setPassword(passwordEncoder.encode(userCreateDTO.getPassword()));
         }
 
+        boolean roleChanged = userCreateDTO.getRole() != null && userCreateDTO.getRole() != user.getRole();
         if (userCreateDTO.getRole() != null) {
             user.setRole(userCreateDTO.getRole());
         }
 
+        // tokens carrying the old role or issued under the old password stop working
+        if (passwordChanged || roleChanged) {
+            user.setTokenVersion(user.getTokenVersion() + 1);
+        }
+
         User updatedUser = userRepository.save(user);
+        userDetailsService.evictUserAfterCommit(id);
+        if (passwordChanged || roleChanged) {
+            tokenVersionRegistry.updateAfterCommit(id, updatedUser.getTokenVersion());
+        }
+        // after a role change the client may refresh into a token with the new role,
+        // after a password change it has to log in again
+        if (passwordChanged) {
+            refreshTokenService.revokeAll(id);
+        }
         return mapToDTO(updatedUser);
     }
 
-    public void deleteUser(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new ResourceNotFoundException("User not found with id: " + id);
+    /**
+     * Invalidates every access and refresh token of the user, on all devices.
+     */
+    @Transactional
+    public void logoutEverywhere(Long id) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        User updatedUser = userRepository.save(user);
+        userDetailsService.evictUserAfterCommit(id);
+        tokenVersionRegistry.updateAfterCommit(id, updatedUser.getTokenVersion());
+        refreshTokenService.revokeAll(id);
+    }
+
+    public void deleteUser(Long id, Long expectedVersion) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+
+        if (expectedVersion != null && !expectedVersion.equals(user.getVersion())) {
+            throw new PreconditionFailedException("User", id);
         }
-        userRepository.deleteById(id);
+        userRepository.delete(user);
+        userDetailsService.evictUser(id);
+        tokenRevocationService.revokeUser(id);
     }
 
     private UserDTO mapToDTO(User user) {
@@ -82,6 +127,7 @@ public class UserService {
                 .name(user.getName())
                 .cpf(user.getCpf())
                 .role(user.getRole())
+                .version(user.getVersion())
                 .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.api.GerenciadorJwtAuth.benchmark;
+
+import com.api.GerenciadorJwtAuth.GerenciadorProdutosJwtAuthApplication;
+import com.api.GerenciadorJwtAuth.model.City;
+import com.api.GerenciadorJwtAuth.model.Role;
+import com.api.GerenciadorJwtAuth.model.User;
+import com.api.GerenciadorJwtAuth.repository.CityRepository;
+import com.api.GerenciadorJwtAuth.repository.UserRepository;
+import com.api.GerenciadorJwtAuth.security.JwtTokenProvider;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+final class BenchmarkFixtures {
+
+    static final String JWT_SECRET = "YourVeryStrongSecretKeyHereShouldBeAtLeast256BitsLongForBetterSecurity";
+    static final int JWT_EXPIRATION_MS = 3_600_000;
+
+    private BenchmarkFixtures() {
+    }
+
+    static JwtTokenProvider tokenProvider() {
+        return new JwtTokenProvider(JWT_SECRET, JWT_EXPIRATION_MS);
+    }
+
+    static User user() {
+        return User.builder()
+                .id(1L)
+                .name("Benchmark User")
+                .cpf("123.456.789-01")
+                .password("encoded_password")
+                .role(Role.USER)
+                .build();
+    }
+
+    static Authentication authentication() {
+        User user = user();
+        return new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+    }
+
+    /**
+     * Boots the application without a web server against a private in-memory H2 database.
+     */
+    static ConfigurableApplicationContext startApplication(String databaseName) {
+        return new SpringApplicationBuilder(GerenciadorProdutosJwtAuthApplication.class)
+                .web(WebApplicationType.NONE)
+                // command-line arguments, so they win over the placeholders in application.properties
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:" + databaseName + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--app.jwt.secret=" + JWT_SECRET,
+                        "--app.jwt.expiration=" + JWT_EXPIRATION_MS,
+                        "--logging.level.root=WARN");
+    }
+
+    /**
+     * Inserts one city, one user and {@code rows} products owned by them. updated_at is
+     * scattered so that (updated_at, id) order differs from insertion order.
+     */
+    static void seedProducts(ConfigurableApplicationContext context, int rows) {
+        City city = new City();
+        city.setName("Recife");
+        city.setState("PE");
+        city = context.getBean(CityRepository.class).save(city);
+        User user = user();
+        user.setId(null);
+        user = context.getBean(UserRepository.class).save(user);
+
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+        List<Object[]> batch = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Timestamp updatedAt = Timestamp.valueOf(base.plusSeconds((i * 7919L) % rows));
+            batch.add(new Object[]{"P" + i, "Product " + i, i % 1000 / 10.0, i % 500, city.getId(), user.getId(), updatedAt, updatedAt, 0L});
+        }
+        context.getBean(JdbcTemplate.class).batchUpdate(
+                "INSERT INTO products (product_code, product_name, product_value, stock, city_id, user_id, created_at, updated_at, version) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,97 @@
+package com.api.GerenciadorJwtAuth.benchmark;
+
+import com.api.GerenciadorJwtAuth.repository.UserRepository;
+import com.api.GerenciadorJwtAuth.security.JwtAuthenticationFilter;
+import com.api.GerenciadorJwtAuth.security.JwtTokenProvider;
+import com.api.GerenciadorJwtAuth.security.TokenRevocationList;
+import com.api.GerenciadorJwtAuth.security.TokenVersionRegistry;
+import com.api.GerenciadorJwtAuth.security.UserDetailsServiceImpl;
+import com.api.GerenciadorJwtAuth.security.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * One pass of {@link JwtAuthenticationFilter} for an authenticated request, trusting the token
+ * claims or resolving the user through the (warm) user details cache, with and without the
+ * verified token cache.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"true", "false"})
+    private boolean trustClaims;
+
+    @Param({"false", "true"})
+    private boolean tokenCache;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain chain;
+
+    @Setup
+    public void setUp() {
+        JwtTokenProvider tokenProvider = BenchmarkFixtures.tokenProvider();
+        // stub-only, so Mockito does not keep every invocation around
+        UserRepository userRepository = mock(UserRepository.class, withSettings().stubOnly());
+        when(userRepository.findByCpf(anyString())).thenReturn(Optional.of(BenchmarkFixtures.user()));
+        when(userRepository.findTokenVersionById(anyLong())).thenReturn(Optional.of(0L));
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TokenVersionRegistry tokenVersionRegistry = new TokenVersionRegistry(userRepository, meterRegistry, 10_000, 60_000);
+        filter = new JwtAuthenticationFilter(
+                new VerifiedTokenCache(tokenProvider, meterRegistry, tokenCache, 10_000),
+                new TokenRevocationList(100_000, 0.01, meterRegistry),
+                tokenVersionRegistry,
+                new UserDetailsServiceImpl(userRepository, tokenVersionRegistry, meterRegistry, 1_000, 300_000),
+                trustClaims);
+
+        request = new MockHttpServletRequest("GET", "/products");
+        request.addHeader("Authorization", "Bearer " + tokenProvider.generateToken(BenchmarkFixtures.authentication()));
+        response = new MockHttpServletResponse();
+        chain = (servletRequest, servletResponse) -> {
+        };
+    }
+
+    @Benchmark
+    public Authentication doFilter() throws Exception {
+        try {
+            filter.doFilter(request, response, chain);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtAuthenticationFilterBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
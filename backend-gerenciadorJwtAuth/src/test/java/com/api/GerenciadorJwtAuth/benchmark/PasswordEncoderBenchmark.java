@@ -0,0 +1,85 @@
+package com.api.GerenciadorJwtAuth.benchmark;
+
+import com.api.GerenciadorJwtAuth.security.PasswordEncoders;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password check time per algorithm and cost, through the same delegating encoder the
+ * application uses. This is the CPU a login costs on one core; the first login after a cost
+ * change also pays for {@code rehash}. bcrypt 10 is the default.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    private static final String PASSWORD = "benchmark-password";
+
+    @State(Scope.Benchmark)
+    public static class BCryptCost {
+
+        @Param({"4", "8", "10", "11", "12"})
+        private int strength;
+
+        private PasswordEncoder passwordEncoder;
+        private String encodedPassword;
+
+        @Setup
+        public void setUp() {
+            passwordEncoder = PasswordEncoders.delegating(PasswordEncoders.BCRYPT, strength, 19456, 2, 1);
+            encodedPassword = passwordEncoder.encode(PASSWORD);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Argon2Cost {
+
+        // memory KiB / iterations, the two OWASP recommended settings
+        @Param({"19456/2", "47104/1"})
+        private String cost;
+
+        private PasswordEncoder passwordEncoder;
+        private String encodedPassword;
+
+        @Setup
+        public void setUp() {
+            String[] parts = cost.split("/");
+            passwordEncoder = PasswordEncoders.delegating(PasswordEncoders.ARGON2, 10,
+                    Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), 1);
+            encodedPassword = passwordEncoder.encode(PASSWORD);
+        }
+    }
+
+    @Benchmark
+    public boolean bcryptMatches(BCryptCost state) {
+        return state.passwordEncoder.matches(PASSWORD, state.encodedPassword);
+    }
+
+    @Benchmark
+    public String bcryptRehash(BCryptCost state) {
+        return state.passwordEncoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean argon2Matches(Argon2Cost state) {
+        return state.passwordEncoder.matches(PASSWORD, state.encodedPassword);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(PasswordEncoderBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
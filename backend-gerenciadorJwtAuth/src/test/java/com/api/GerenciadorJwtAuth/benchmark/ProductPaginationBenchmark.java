@@ -0,0 +1,96 @@
+package com.api.GerenciadorJwtAuth.benchmark;
+
+import com.api.GerenciadorJwtAuth.dto.CursorPage;
+import com.api.GerenciadorJwtAuth.dto.ProductCursor;
+import com.api.GerenciadorJwtAuth.dto.ProductDTO;
+import com.api.GerenciadorJwtAuth.dto.ProductFilter;
+import com.api.GerenciadorJwtAuth.service.ProductService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Offset versus keyset listing at increasing depth over a seeded in-memory H2 database,
+ * going through the real {@link ProductService} and repository queries.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductPaginationBenchmark {
+
+    private static final int ROWS = 200_000;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"10", "2000", "9900"})
+    private int page;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private String idCursor;
+    private String updatedAtCursor;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkFixtures.startApplication("pagination");
+        productService = context.getBean(ProductService.class);
+        BenchmarkFixtures.seedProducts(context, ROWS);
+
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        int offset = page * PAGE_SIZE;
+        Long lastId = jdbc.queryForObject(
+                "SELECT id FROM products ORDER BY id LIMIT 1 OFFSET ?", Long.class, offset - 1);
+        idCursor = new ProductCursor(ProductCursor.Order.ID, null, lastId).encode();
+        updatedAtCursor = jdbc.query(
+                "SELECT updated_at, id FROM products ORDER BY updated_at, id LIMIT 1 OFFSET ?",
+                rs -> {
+                    rs.next();
+                    return new ProductCursor(ProductCursor.Order.UPDATED_AT,
+                            rs.getTimestamp(1).toLocalDateTime(), rs.getLong(2)).encode();
+                },
+                offset - 1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<ProductDTO> offsetById() {
+        return productService.getAllProducts(new ProductFilter(), PageRequest.of(page, PAGE_SIZE, Sort.by("id")));
+    }
+
+    @Benchmark
+    public CursorPage<ProductDTO> keysetById() {
+        return productService.scrollProducts(idCursor, ProductCursor.Order.ID, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Page<ProductDTO> offsetByUpdatedAt() {
+        return productService.getAllProducts(new ProductFilter(), PageRequest.of(page, PAGE_SIZE, Sort.by("updatedAt", "id")));
+    }
+
+    @Benchmark
+    public CursorPage<ProductDTO> keysetByUpdatedAt() {
+        return productService.scrollProducts(updatedAtCursor, ProductCursor.Order.UPDATED_AT, PAGE_SIZE);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ProductPaginationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,95 @@
+package com.api.GerenciadorJwtAuth.benchmark;
+
+import com.api.GerenciadorJwtAuth.dto.ProductDTO;
+import com.api.GerenciadorJwtAuth.model.Product;
+import com.api.GerenciadorJwtAuth.repository.ProductRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listing 100k products as DTOs: loading managed entities and copying fields (inside a
+ * read-only and a read-write transaction) versus the constructor projection used by
+ * {@link ProductRepository#search}. Run with the GC profiler for bytes allocated per listing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+@State(Scope.Benchmark)
+public class ProductProjectionBenchmark {
+
+    private static final int ROWS = 100_000;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+    private Pageable everything;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkFixtures.startApplication("projection");
+        BenchmarkFixtures.seedProducts(context, ROWS);
+        productRepository = context.getBean(ProductRepository.class);
+
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+        everything = PageRequest.of(0, ROWS, Sort.by("id"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ProductDTO> entitiesReadOnly() {
+        return readOnly.execute(status -> loadEntities());
+    }
+
+    @Benchmark
+    public List<ProductDTO> entitiesReadWrite() {
+        return readWrite.execute(status -> loadEntities());
+    }
+
+    @Benchmark
+    public List<ProductDTO> projection() {
+        return readOnly.execute(status -> productRepository
+                .search(null, null, null, null, null, null, null, everything)
+                .getContent());
+    }
+
+    private List<ProductDTO> loadEntities() {
+        return productRepository.findAll(everything).map(ProductProjectionBenchmark::toDTO).getContent();
+    }
+
+    private static ProductDTO toDTO(Product product) {
+        return new ProductDTO(product.getId(), product.getProductCode(), product.getProductName(),
+                product.getProductValue(), product.getStock(), product.getCity().getId(), product.getUser().getId(),
+                product.getVersion());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ProductProjectionBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
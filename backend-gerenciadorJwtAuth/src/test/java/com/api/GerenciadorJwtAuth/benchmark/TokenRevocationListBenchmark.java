@@ -0,0 +1,68 @@
+package com.api.GerenciadorJwtAuth.benchmark;
+
+import com.api.GerenciadorJwtAuth.model.Role;
+import com.api.GerenciadorJwtAuth.security.TokenRevocationList;
+import com.api.GerenciadorJwtAuth.security.VerifiedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The revocation check the filter runs on every request, for a token that is not revoked (the
+ * Bloom filter answers) and one that is (the exact set is consulted as well).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenRevocationListBenchmark {
+
+    @Param({"1000", "100000"})
+    private int revoked;
+
+    private TokenRevocationList revocationList;
+    private VerifiedToken activeToken;
+    private VerifiedToken revokedToken;
+
+    @Setup
+    public void setUp() {
+        List<String> keys = new ArrayList<>(revoked);
+        for (int i = 0; i < revoked; i++) {
+            keys.add(UUID.randomUUID().toString());
+        }
+        revocationList = new TokenRevocationList(100_000, 0.01, new SimpleMeterRegistry());
+        revocationList.replaceAll(keys);
+
+        Date expiration = new Date(System.currentTimeMillis() + 3_600_000);
+        activeToken = new VerifiedToken("123.456.789-01", 1L, Role.USER, expiration, UUID.randomUUID().toString(), 0L);
+        revokedToken = new VerifiedToken("123.456.789-01", 1L, Role.USER, expiration, keys.get(0), 0L);
+    }
+
+    @Benchmark
+    public boolean notRevoked() {
+        return revocationList.isRevoked(activeToken);
+    }
+
+    @Benchmark
+    public boolean revoked() {
+        return revocationList.isRevoked(revokedToken);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(TokenRevocationListBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
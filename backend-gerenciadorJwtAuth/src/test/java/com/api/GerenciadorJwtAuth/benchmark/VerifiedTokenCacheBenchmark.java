@@ -0,0 +1,57 @@
+package com.api.GerenciadorJwtAuth.benchmark;
+
+import com.api.GerenciadorJwtAuth.security.JwtTokenProvider;
+import com.api.GerenciadorJwtAuth.security.VerifiedToken;
+import com.api.GerenciadorJwtAuth.security.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repeat verification of the same bearer token with and without {@link VerifiedTokenCache},
+ * run from several threads to include contention on the cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class VerifiedTokenCacheBenchmark {
+
+    private VerifiedTokenCache uncached;
+    private VerifiedTokenCache cached;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtTokenProvider tokenProvider = BenchmarkFixtures.tokenProvider();
+        uncached = new VerifiedTokenCache(tokenProvider, new SimpleMeterRegistry(), false, 10_000);
+        cached = new VerifiedTokenCache(tokenProvider, new SimpleMeterRegistry(), true, 10_000);
+        token = tokenProvider.generateToken(BenchmarkFixtures.authentication());
+    }
+
+    @Benchmark
+    public Optional<VerifiedToken> uncached() {
+        return uncached.verify(token);
+    }
+
+    @Benchmark
+    public Optional<VerifiedToken> cached() {
+        return cached.verify(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(VerifiedTokenCacheBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
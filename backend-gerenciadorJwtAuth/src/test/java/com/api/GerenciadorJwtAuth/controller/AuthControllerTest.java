@@ -2,6 +2,9 @@ package com.api.GerenciadorJwtAuth.controller;
 
 import com.api.GerenciadorJwtAuth.dto.AuthRequest;
 import com.api.GerenciadorJwtAuth.dto.AuthResponse;
+import com.api.GerenciadorJwtAuth.dto.RefreshRequest;
+import com.api.GerenciadorJwtAuth.exception.GlobalExceptionHandler;
+import com.api.GerenciadorJwtAuth.exception.LoginCapacityExceededException;
 import com.api.GerenciadorJwtAuth.exception.UnauthorizedException;
 import com.api.GerenciadorJwtAuth.service.AuthService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -16,8 +19,11 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -36,7 +42,9 @@ public class AuthControllerTest {
 
     @BeforeEach
     void setUp() {
-        mockMvc = MockMvcBuilders.standaloneSetup(authController).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(authController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
     }
 
     @Test
@@ -82,6 +90,76 @@ public class AuthControllerTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    void authenticateUser_LoginPoolSaturated_ReturnsServiceUnavailableWithRetryAfter() throws Exception {
+        AuthRequest authRequest = new AuthRequest("123.456.789-01", "password123");
+
+        when(authService.authenticate(any(AuthRequest.class)))
+                .thenThrow(new LoginCapacityExceededException(2));
+
+        mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(authRequest)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"));
+    }
+
+    @Test
+    void refreshToken_ValidToken_ReturnsNewTokens() throws Exception {
+        AuthResponse mockResponse = AuthResponse.builder()
+                .token("new.jwt.token")
+                .type("Bearer")
+                .expiresIn(900L)
+                .refreshToken("next-refresh-token")
+                .id(1L)
+                .build();
+
+        when(authService.refresh(any(RefreshRequest.class))).thenReturn(mockResponse);
+
+        mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshRequest("refresh-token"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("new.jwt.token"))
+                .andExpect(jsonPath("$.expiresIn").value(900))
+                .andExpect(jsonPath("$.refreshToken").value("next-refresh-token"));
+    }
+
+    @Test
+    void refreshToken_RejectedOrBlankToken_ReturnsError() throws Exception {
+        when(authService.refresh(any(RefreshRequest.class)))
+                .thenThrow(new UnauthorizedException("Invalid refresh token"));
+
+        mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshRequest("unknown"))))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshRequest(""))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void logout_WithBearerTokenAndRefreshToken_ReturnsNoContent() throws Exception {
+        mockMvc.perform(post("/auth/logout")
+                        .header("Authorization", "Bearer test.jwt.token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshRequest("refresh-token"))))
+                .andExpect(status().isNoContent());
+
+        verify(authService).logout("test.jwt.token", "refresh-token");
+    }
+
+    @Test
+    void logout_WithoutTokens_ReturnsUnauthorized() throws Exception {
+        doThrow(new UnauthorizedException("Invalid access token")).when(authService).logout(null, null);
+
+        mockMvc.perform(post("/auth/logout"))
+                .andExpect(status().isUnauthorized());
+    }
+
     @Test
     void authenticateUser_InvalidRequest_ReturnsBadRequest() throws Exception {
         // Test missing password
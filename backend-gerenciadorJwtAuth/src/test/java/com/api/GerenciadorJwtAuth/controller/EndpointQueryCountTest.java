@@ -0,0 +1,175 @@
+package com.api.GerenciadorJwtAuth.controller;
+
+import com.api.GerenciadorJwtAuth.dto.AuthRequest;
+import com.api.GerenciadorJwtAuth.dto.RefreshRequest;
+import com.api.GerenciadorJwtAuth.model.City;
+import com.api.GerenciadorJwtAuth.model.Role;
+import com.api.GerenciadorJwtAuth.model.User;
+import com.api.GerenciadorJwtAuth.repository.CityRepository;
+import com.api.GerenciadorJwtAuth.repository.UserRepository;
+import com.api.GerenciadorJwtAuth.security.JwtTokenProvider;
+import com.api.GerenciadorJwtAuth.security.TokenVersionRegistry;
+import com.api.GerenciadorJwtAuth.service.RefreshTokenService;
+import com.api.GerenciadorJwtAuth.support.QueryBudgetTestSupport;
+import com.api.GerenciadorJwtAuth.support.SqlBudget;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SQL budgets for the city, user and auth endpoints. Product endpoints are covered by
+ * {@link ProductQueryCountTest}.
+ */
+class EndpointQueryCountTest extends QueryBudgetTestSupport {
+
+    private static final int ROWS = 20;
+    private static final String PASSWORD = "secret123";
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private CityRepository cityRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User admin;
+    private String authorization;
+
+    @BeforeEach
+    void setUp() {
+        List<City> cities = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            City city = new City();
+            city.setName("City " + i);
+            city.setState("PE");
+            cities.add(city);
+        }
+        cityRepository.saveAll(cities);
+
+        String encodedPassword = passwordEncoder.encode(PASSWORD);
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            users.add(User.builder()
+                    .name("User " + i)
+                    .cpf(String.format("123.456.789-%02d", i))
+                    .password(encodedPassword)
+                    .role(i == 0 ? Role.ADMIN : Role.USER)
+                    .build());
+        }
+        admin = userRepository.saveAll(users).get(0);
+        authorization = "Bearer " + tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities()));
+        // an active user's token version is already in memory; budgets are for that steady state
+        tokenVersionRegistry.update(admin.getId(), admin.getTokenVersion());
+    }
+
+    @AfterEach
+    void tearDown() {
+        // refresh tokens go with their user through the foreign key's ON DELETE CASCADE
+        userRepository.deleteAllInBatch();
+        cityRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void getAllCities_ReadsEachCityOnce() throws Exception {
+        assertWithinBudget(get("/cities").header("Authorization", authorization), status().isOk(),
+                SqlBudget.of(1, ROWS));
+    }
+
+    @Test
+    void getAllUsers_ReadsEachUserOnce() throws Exception {
+        assertWithinBudget(get("/users").header("Authorization", authorization), status().isOk(),
+                SqlBudget.of(1, ROWS));
+    }
+
+    @Test
+    void getUserById_UsesSingleStatement() throws Exception {
+        assertWithinBudget(get("/users/" + admin.getId()).header("Authorization", authorization), status().isOk(),
+                SqlBudget.of(1, 1));
+    }
+
+    @Test
+    void tokenVersion_IsLoadedOncePerUser() throws Exception {
+        User user = userRepository.findByCpf("123.456.789-01").orElseThrow();
+        String userAuthorization = "Bearer " + tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+
+        // first request of a user not yet in memory: the version by primary key, then the city list
+        assertWithinBudget(get("/cities").header("Authorization", userAuthorization), status().isOk(),
+                SqlBudget.of(2, ROWS + 1));
+        assertWithinBudget(get("/cities").header("Authorization", userAuthorization), status().isOk(),
+                SqlBudget.of(1, ROWS));
+    }
+
+    @Test
+    void logoutEverywhere_RejectsOlderTokensWithoutQueries() throws Exception {
+        // user read, version update, then the refresh token revocation
+        assertWithinBudget(post("/users/" + admin.getId() + "/logout").header("Authorization", authorization),
+                status().isNoContent(),
+                SqlBudget.of(3, 1));
+
+        assertWithinBudget(get("/users").header("Authorization", authorization), status().isUnauthorized(),
+                SqlBudget.of(0, 0));
+    }
+
+    @Test
+    void login_LoadsOnlyTheAuthenticatingUser() throws Exception {
+        AuthRequest request = new AuthRequest(admin.getCpf(), PASSWORD);
+
+        // user lookup, refresh token insert and at most one sequence fetch
+        assertWithinBudget(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)),
+                status().isOk(),
+                SqlBudget.of(3, 2));
+    }
+
+    @Test
+    void refresh_UsesOneLookupAndNoPasswordCheck() throws Exception {
+        RefreshRequest request = new RefreshRequest(refreshTokenService.issue(admin));
+
+        // token and user in one join, revoke, insert of the replacement and at most one sequence fetch
+        assertWithinBudget(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)),
+                status().isOk(),
+                SqlBudget.of(4, 2));
+    }
+
+    @Test
+    void logout_RevokedTokenIsRejectedWithoutQueries() throws Exception {
+        // existence check of the natural id, then the insert
+        assertWithinBudget(post("/auth/logout").header("Authorization", authorization),
+                status().isNoContent(),
+                SqlBudget.of(2, 1));
+
+        assertWithinBudget(get("/users").header("Authorization", authorization), status().isUnauthorized(),
+                SqlBudget.of(0, 0));
+    }
+}
@@ -1,22 +1,47 @@
 package com.api.GerenciadorJwtAuth.controller;
 
+import com.api.GerenciadorJwtAuth.dto.CursorPage;
+import com.api.GerenciadorJwtAuth.dto.ProductBulkResult;
+import com.api.GerenciadorJwtAuth.dto.ProductCursor;
 import com.api.GerenciadorJwtAuth.dto.ProductDTO;
+import com.api.GerenciadorJwtAuth.dto.ProductFileFormat;
+import com.api.GerenciadorJwtAuth.dto.ProductImportStatus;
+import com.api.GerenciadorJwtAuth.dto.StockAdjustment;
+import com.api.GerenciadorJwtAuth.dto.StockAdjustmentResult;
+import com.api.GerenciadorJwtAuth.dto.ProductFilter;
+import com.api.GerenciadorJwtAuth.exception.InvalidImportFileException;
+import com.api.GerenciadorJwtAuth.exception.PreconditionFailedException;
 import com.api.GerenciadorJwtAuth.exception.ResourceNotFoundException;
 import com.api.GerenciadorJwtAuth.exception.UnauthorizedException;
-import com.api.GerenciadorJwtAuth.security.JwtTokenProvider;
+import com.api.GerenciadorJwtAuth.model.Role;
+import com.api.GerenciadorJwtAuth.security.CurrentUserArgumentResolver;
+import com.api.GerenciadorJwtAuth.security.UserPrincipal;
+import com.api.GerenciadorJwtAuth.service.ProductBulkService;
+import com.api.GerenciadorJwtAuth.service.ProductExportService;
+import com.api.GerenciadorJwtAuth.service.ProductImportService;
+import com.api.GerenciadorJwtAuth.service.ProductStockService;
 import com.api.GerenciadorJwtAuth.service.ProductService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
@@ -36,29 +61,91 @@ class ProductControllerTest {
     private ProductService productService;
 
     @Mock
-    private JwtTokenProvider jwtTokenProvider;
+    private ProductExportService productExportService;
+
+    @Mock
+    private ProductBulkService productBulkService;
+
+    @Mock
+    private ProductImportService productImportService;
+
+    @Mock
+    private ProductStockService productStockService;
 
     @InjectMocks
     private ProductController productController;
 
     @BeforeEach
     void setUp() {
-        mockMvc = MockMvcBuilders.standaloneSetup(productController).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(productController)
+                .setCustomArgumentResolvers(new CurrentUserArgumentResolver(), new PageableHandlerMethodArgumentResolver())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
     }
 
     @Test
-    void getAllProducts_ReturnsProductsList() throws Exception {
+    void getAllProducts_ReturnsProductsPage() throws Exception {
         ProductDTO product1 = createProductDTO(1L, "P001");
         ProductDTO product2 = createProductDTO(2L, "P002");
         List<ProductDTO> products = Arrays.asList(product1, product2);
 
-        when(productService.getAllProducts()).thenReturn(products);
+        when(productService.getAllProducts(any(ProductFilter.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(products, PageRequest.of(0, 20), 2));
 
         mockMvc.perform(get("/products"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].productCode").value("P001"))
-                .andExpect(jsonPath("$[1].productCode").value("P002"));
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].productCode").value("P001"))
+                .andExpect(jsonPath("$.content[1].productCode").value("P002"))
+                .andExpect(jsonPath("$.page.totalElements").value(2));
+    }
+
+    @Test
+    void getAllProducts_WithPagingAndFilters_PassesThemToService() throws Exception {
+        when(productService.getAllProducts(any(ProductFilter.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(), PageRequest.of(3, 50), 0));
+
+        mockMvc.perform(get("/products")
+                        .param("page", "3")
+                        .param("size", "50")
+                        .param("sort", "name,desc")
+                        .param("cityId", "7")
+                        .param("codePrefix", "P0")
+                        .param("maxStock", "5"))
+                .andExpect(status().isOk());
+
+        ProductFilter expectedFilter = new ProductFilter(7L, null, "P0", null, null, null, 5);
+        Pageable expectedPageable = PageRequest.of(3, 50, Sort.by(Sort.Direction.DESC, "name"));
+        verify(productService).getAllProducts(expectedFilter, expectedPageable);
+    }
+
+    @Test
+    void scrollProducts_ReturnsContentAndNextCursor() throws Exception {
+        when(productService.scrollProducts("abc", ProductCursor.Order.UPDATED_AT, 50))
+                .thenReturn(new CursorPage<>(List.of(createProductDTO(3L, "P003")), "def"));
+
+        mockMvc.perform(get("/products/scroll")
+                        .param("cursor", "abc")
+                        .param("orderBy", "UPDATED_AT")
+                        .param("size", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].productCode").value("P003"))
+                .andExpect(jsonPath("$.nextCursor").value("def"));
+    }
+
+    @Test
+    void exportProducts_Csv_StreamsToResponseWithAttachmentHeaders() throws Exception {
+        mockMvc.perform(get("/products/export").param("format", "CSV"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"products.csv\""));
+
+        verify(productExportService).export(eq(ProductFileFormat.CSV), any());
     }
 
     @Test
@@ -72,6 +159,21 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.productCode").value("P001"));
     }
 
+    @Test
+    void getProductById_ReturnsVersionETag_AndNotModifiedWhenItMatches() throws Exception {
+        ProductDTO product = createProductDTO(1L, "P001");
+        product.setVersion(3L);
+        when(productService.getProductById(1L)).thenReturn(product);
+
+        mockMvc.perform(get("/products/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""));
+
+        mockMvc.perform(get("/products/1").header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     void getProductById_ProductNotFound_ReturnsNotFound() throws Exception {
         when(productService.getProductById(1L))
@@ -86,11 +188,10 @@ class ProductControllerTest {
         ProductDTO inputDTO = createProductDTO(null, "P001");
         ProductDTO savedDTO = createProductDTO(1L, "P001");
 
-        when(jwtTokenProvider.extractUserId("valid.token")).thenReturn(123L);
+        authenticateAs(123L);
         when(productService.createProduct(eq(inputDTO), eq(123L))).thenReturn(savedDTO);
 
         mockMvc.perform(post("/products")
-                        .header("Authorization", "Bearer valid.token")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(inputDTO)))
                 .andExpect(status().isCreated())
@@ -98,16 +199,109 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.productCode").value("P001"));
     }
 
+    @Test
+    void bulkImportProducts_ReturnsCountsAndRowErrors() throws Exception {
+        List<ProductDTO> rows = List.of(createProductDTO(null, "P001"), createProductDTO(null, "P002"));
+        ProductBulkResult result = new ProductBulkResult(1, 0,
+                List.of(new ProductBulkResult.RowError(1, "P002", "Product code already exists")));
+
+        authenticateAs(123L);
+        when(productBulkService.importProducts(eq(rows), eq(new UserPrincipal(123L, "123.456.789-01", Role.USER)), eq(true)))
+                .thenReturn(result);
+
+        mockMvc.perform(post("/products/bulk")
+                        .param("upsert", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(rows)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.errors[0].index").value(1))
+                .andExpect(jsonPath("$.errors[0].message").value("Product code already exists"));
+    }
+
+    @Test
+    void bulkImportProducts_OverTheLimit_IsRejectedBeforeTheService() throws Exception {
+        List<ProductDTO> rows = Collections.nCopies(ProductBulkService.MAX_BULK_SIZE + 1, createProductDTO(null, "P001"));
+        authenticateAs(123L);
+
+        mockMvc.perform(post("/products/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(rows)))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(productBulkService);
+    }
+
+    @Test
+    void adjustStock_AppliesDeltaForCurrentUser() throws Exception {
+        authenticateAs(123L);
+
+        mockMvc.perform(patch("/products/5/stock")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"delta\": -2}"))
+                .andExpect(status().isNoContent());
+
+        verify(productStockService).adjustStock(5L, -2, new UserPrincipal(123L, "123.456.789-01", Role.USER));
+    }
+
+    @Test
+    void adjustStocks_ReturnsCountsAndRowErrors() throws Exception {
+        List<StockAdjustment> adjustments = List.of(new StockAdjustment(5L, 3), new StockAdjustment(6L, -9));
+        StockAdjustmentResult result = new StockAdjustmentResult(1,
+                List.of(new StockAdjustmentResult.RowError(1, 6L, "Insufficient stock")));
+
+        authenticateAs(123L);
+        when(productStockService.adjustStocks(eq(adjustments), any(UserPrincipal.class))).thenReturn(result);
+
+        mockMvc.perform(patch("/products/stock")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(adjustments)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.errors[0].productId").value(6))
+                .andExpect(jsonPath("$.errors[0].message").value("Insufficient stock"));
+    }
+
+    @Test
+    void importProducts_CsvBody_IsStreamedToImportService() throws Exception {
+        ProductImportStatus status = new ProductImportStatus();
+        status.setId("job-1");
+        status.setState(ProductImportStatus.State.RUNNING);
+
+        authenticateAs(123L);
+        when(productImportService.importProducts(any(), eq(ProductFileFormat.CSV), any(UserPrincipal.class), eq(false)))
+                .thenReturn(status);
+
+        mockMvc.perform(post("/products/import")
+                        .contentType("text/csv")
+                        .content("productCode,productName,productValue,stock,cityId\n"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/products/import/job-1"))
+                .andExpect(jsonPath("$.id").value("job-1"))
+                .andExpect(jsonPath("$.state").value("RUNNING"));
+    }
+
+    @Test
+    void importProducts_UnreadableBody_ReturnsUnprocessableEntity() throws Exception {
+        authenticateAs(123L);
+        when(productImportService.importProducts(any(), eq(ProductFileFormat.NDJSON), any(UserPrincipal.class), eq(false)))
+                .thenThrow(new InvalidImportFileException("Reading failed: Unexpected character"));
+
+        mockMvc.perform(post("/products/import")
+                        .contentType("application/x-ndjson")
+                        .content("<html>"))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
     @Test
     void createProduct_DuplicateProductCode_ReturnsBadRequest() throws Exception {
         ProductDTO inputDTO = createProductDTO(null, "P001");
 
-        when(jwtTokenProvider.extractUserId("valid.token")).thenReturn(123L);
+        authenticateAs(123L);
         when(productService.createProduct(eq(inputDTO), eq(123L)))
                 .thenThrow(new IllegalArgumentException("Product code already exists"));
 
         mockMvc.perform(post("/products")
-                        .header("Authorization", "Bearer valid.token")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(inputDTO)))
                 .andExpect(status().isBadRequest());
@@ -118,27 +312,61 @@ class ProductControllerTest {
         ProductDTO inputDTO = createProductDTO(1L, "P001");
         ProductDTO updatedDTO = createProductDTO(1L, "P001");
 
-        when(jwtTokenProvider.extractUserId("valid.token")).thenReturn(123L);
-        when(productService.updateProduct(eq(1L), eq(inputDTO), eq(123L))).thenReturn(updatedDTO);
+        authenticateAs(123L);
+        when(productService.updateProduct(eq(1L), eq(inputDTO), eq(123L), isNull())).thenReturn(updatedDTO);
 
         mockMvc.perform(put("/products/1")
-                        .header("Authorization", "Bearer valid.token")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(inputDTO)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(1L));
     }
 
+    @Test
+    void updateProduct_WithIfMatch_PassesExpectedVersion() throws Exception {
+        ProductDTO inputDTO = createProductDTO(1L, "P001");
+        ProductDTO updatedDTO = createProductDTO(1L, "P001");
+        updatedDTO.setVersion(4L);
+
+        authenticateAs(123L);
+        when(productService.updateProduct(eq(1L), eq(inputDTO), eq(123L), eq(3L))).thenReturn(updatedDTO);
+
+        mockMvc.perform(put("/products/1")
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(inputDTO)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""));
+    }
+
+    @Test
+    void updateProduct_WithStaleIfMatch_ReturnsPreconditionFailed() throws Exception {
+        ProductDTO inputDTO = createProductDTO(1L, "P001");
+
+        authenticateAs(123L);
+        when(productService.updateProduct(eq(1L), eq(inputDTO), eq(123L), eq(2L)))
+                .thenThrow(new PreconditionFailedException("Product", 1L));
+
+        mockMvc.perform(put("/products/1")
+                        .header("If-Match", "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(inputDTO)))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(delete("/products/1").header("If-Match", "W/\"2\""))
+                .andExpect(status().isPreconditionFailed());
+        verify(productService, never()).deleteProduct(any(), any(), any());
+    }
+
     @Test
     void updateProduct_UnauthorizedUser_ReturnsForbidden() throws Exception {
         ProductDTO inputDTO = createProductDTO(1L, "P001");
 
-        when(jwtTokenProvider.extractUserId("valid.token")).thenReturn(456L);
-        when(productService.updateProduct(eq(1L), eq(inputDTO), eq(456L)))
+        authenticateAs(456L);
+        when(productService.updateProduct(eq(1L), eq(inputDTO), eq(456L), isNull()))
                 .thenThrow(new UnauthorizedException("Permission denied"));
 
         mockMvc.perform(put("/products/1")
-                        .header("Authorization", "Bearer valid.token")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(inputDTO)))
                 .andExpect(status().isForbidden());
@@ -146,25 +374,41 @@ class ProductControllerTest {
 
     @Test
     void deleteProduct_ValidRequest_ReturnsNoContent() throws Exception {
-        when(jwtTokenProvider.extractUserId("valid.token")).thenReturn(123L);
-        doNothing().when(productService).deleteProduct(1L, 123L);
+        authenticateAs(123L);
+        doNothing().when(productService).deleteProduct(1L, 123L, null);
 
-        mockMvc.perform(delete("/products/1")
-                        .header("Authorization", "Bearer valid.token"))
+        mockMvc.perform(delete("/products/1"))
                 .andExpect(status().isNoContent());
     }
 
     @Test
     void deleteProduct_UnauthorizedUser_ReturnsForbidden() throws Exception {
-        when(jwtTokenProvider.extractUserId("valid.token")).thenReturn(456L);
+        authenticateAs(456L);
         doThrow(new UnauthorizedException("Permission denied"))
-                .when(productService).deleteProduct(1L, 456L);
+                .when(productService).deleteProduct(1L, 456L, null);
 
-        mockMvc.perform(delete("/products/1")
-                        .header("Authorization", "Bearer valid.token"))
+        mockMvc.perform(delete("/products/1"))
                 .andExpect(status().isForbidden());
     }
 
+    @Test
+    void createProduct_WithoutAuthentication_ReturnsUnauthorized() throws Exception {
+        ProductDTO inputDTO = createProductDTO(null, "P001");
+
+        mockMvc.perform(post("/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(inputDTO)))
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(productService);
+    }
+
+    private void authenticateAs(Long userId) {
+        UserPrincipal principal = new UserPrincipal(userId, "123.456.789-01", Role.USER);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
     private ProductDTO createProductDTO(Long id, String productCode) {
         ProductDTO dto = new ProductDTO();
         dto.setId(id);
@@ -0,0 +1,134 @@
+package com.api.GerenciadorJwtAuth.controller;
+
+import com.api.GerenciadorJwtAuth.model.City;
+import com.api.GerenciadorJwtAuth.model.Product;
+import com.api.GerenciadorJwtAuth.model.Role;
+import com.api.GerenciadorJwtAuth.model.User;
+import com.api.GerenciadorJwtAuth.repository.CityRepository;
+import com.api.GerenciadorJwtAuth.repository.ProductRepository;
+import com.api.GerenciadorJwtAuth.repository.UserRepository;
+import com.api.GerenciadorJwtAuth.security.JwtTokenProvider;
+import com.api.GerenciadorJwtAuth.security.TokenVersionRegistry;
+import com.api.GerenciadorJwtAuth.support.QueryBudgetTestSupport;
+import com.api.GerenciadorJwtAuth.support.SqlBudget;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards the product read endpoints against N+1 loading: the number of SQL statements per
+ * request must not depend on how many products are returned.
+ */
+class ProductQueryCountTest extends QueryBudgetTestSupport {
+
+    private static final int PRODUCTS = 100;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CityRepository cityRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    private String authorization;
+    private Long firstProductId;
+
+    @BeforeEach
+    void setUp() {
+        List<City> cities = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            City city = new City();
+            city.setName("City " + i);
+            city.setState("PE");
+            cities.add(city);
+        }
+        cities = cityRepository.saveAll(cities);
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            users.add(User.builder()
+                    .name("User " + i)
+                    .cpf(String.format("123.456.789-%02d", i))
+                    .password("encoded_password")
+                    .role(Role.USER)
+                    .build());
+        }
+        users = userRepository.saveAll(users);
+
+        // every product gets a different city/user pair, so a lazy load per row would show up
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = new Product();
+            product.setProductCode(String.format("QC%03d", i));
+            product.setProductName("Product " + i);
+            product.setProductValue(10.0);
+            product.setStock(i);
+            product.setCity(cities.get(i % cities.size()));
+            product.setUser(users.get(i / 20));
+            products.add(product);
+        }
+        firstProductId = productRepository.saveAll(products).get(0).getId();
+
+        User user = users.get(0);
+        authorization = "Bearer " + tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        // an active user's token version is already in memory; budgets are for that steady state
+        tokenVersionRegistry.update(user.getId(), user.getTokenVersion());
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        cityRepository.deleteAllInBatch();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 100})
+    void listProducts_StatementCountDoesNotGrowWithPageSize(int size) throws Exception {
+        // page query plus count query
+        assertBudget(get("/products").param("size", String.valueOf(size)), SqlBudget.of(2, size + 1));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 100})
+    void scrollProducts_StatementCountDoesNotGrowWithPageSize(int size) throws Exception {
+        // one extra row tells whether there is a next page
+        SqlBudget budget = SqlBudget.of(1, size + 1);
+        assertBudget(get("/products/scroll").param("size", String.valueOf(size)), budget);
+        assertBudget(get("/products/scroll").param("size", String.valueOf(size)).param("orderBy", "UPDATED_AT"), budget);
+    }
+
+    @Test
+    void getProductById_UsesSingleStatement() throws Exception {
+        assertBudget(get("/products/" + firstProductId), SqlBudget.of(1, 1));
+    }
+
+    @Test
+    void exportProducts_UsesSingleStatementForAllRows() throws Exception {
+        assertBudget(get("/products/export"), SqlBudget.of(1, PRODUCTS));
+    }
+
+    private void assertBudget(MockHttpServletRequestBuilder request, SqlBudget budget) throws Exception {
+        assertWithinBudget(request.header("Authorization", authorization), status().isOk(), budget);
+    }
+}
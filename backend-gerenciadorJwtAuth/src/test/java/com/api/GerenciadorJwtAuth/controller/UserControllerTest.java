@@ -152,7 +152,7 @@ class UserControllerTest {
                 .role(Role.ADMIN)
                 .build();
 
-        when(userService.updateUser(eq(1L), any(UserCreateDTO.class))).thenReturn(updatedUserDTO);
+        when(userService.updateUser(eq(1L), any(UserCreateDTO.class), isNull())).thenReturn(updatedUserDTO);
 
         mockMvc.perform(put("/users/{id}", 1L)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -161,29 +161,29 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.name", is("Updated Name")))
                 .andExpect(jsonPath("$.role", is("ADMIN")));
 
-        verify(userService, times(1)).updateUser(eq(1L), any(UserCreateDTO.class));
+        verify(userService, times(1)).updateUser(eq(1L), any(UserCreateDTO.class), isNull());
     }
 
     @Test
     @WithMockUser(roles = "ADMIN")
     void deleteUser_WithValidId_ShouldReturnNoContent() throws Exception {
-        doNothing().when(userService).deleteUser(1L);
+        doNothing().when(userService).deleteUser(1L, null);
 
         mockMvc.perform(delete("/users/{id}", 1L))
                 .andExpect(status().isNoContent());
 
-        verify(userService, times(1)).deleteUser(1L);
+        verify(userService, times(1)).deleteUser(1L, null);
     }
 
     @Test
     @WithMockUser(roles = "ADMIN")
     void deleteUser_WithInvalidId_ShouldReturnNotFound() throws Exception {
-        doThrow(new ResourceNotFoundException("User not found")).when(userService).deleteUser(999L);
+        doThrow(new ResourceNotFoundException("User not found")).when(userService).deleteUser(999L, null);
 
         mockMvc.perform(delete("/users/{id}", 999L))
                 .andExpect(status().isNotFound());
 
-        verify(userService, times(1)).deleteUser(999L);
+        verify(userService, times(1)).deleteUser(999L, null);
     }
 
     // Test for unauthorized access if required
@@ -0,0 +1,44 @@
+package com.api.GerenciadorJwtAuth.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Keeps every latency sample of one scenario so percentiles are exact, not bucketed.
+ * A few million samples fit comfortably in memory for the run lengths used here.
+ */
+final class LatencyRecorder {
+
+    private long[] samples = new long[1 << 14];
+    private int size;
+    private long errors;
+
+    synchronized void record(long nanos, boolean success) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = nanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    synchronized Summary summarize(double seconds) {
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        return new Summary(size, errors, size / seconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                size == 0 ? 0 : sorted[size - 1]);
+    }
+
+    // nearest-rank percentile
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return sorted[Math.max(rank - 1, 0)];
+    }
+
+    record Summary(long requests, long errors, double throughput, long p50, long p95, long p99, long max) {
+    }
+}
@@ -0,0 +1,229 @@
+package com.api.GerenciadorJwtAuth.loadtest;
+
+import com.api.GerenciadorJwtAuth.GerenciadorProdutosJwtAuthApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Boots the application on a random port against an in-memory H2 database, seeds it and drives
+ * a weighted mix of requests from {@code loadtest.concurrency} clients. Each client waits for its
+ * response before sending the next request (closed loop), so saturation shows up as lower
+ * throughput as well as higher latency. Only requests started after the warmup are reported.
+ * <p>
+ * Run with {@code mvn -Ploadtest verify}; settings are listed in the loadtest profile in pom.xml.
+ */
+public final class LoadTest {
+
+    private static final String JWT_SECRET = "YourVeryStrongSecretKeyHereShouldBeAtLeast256BitsLongForBetterSecurity";
+    private static final Pattern REFRESH_TOKEN = Pattern.compile("\"refreshToken\":\"([^\"]+)\"");
+
+    private final LoadTestConfig config;
+    private final LoadTestData data;
+    private final String baseUrl;
+    private final HttpClient client;
+    private final Scenario[] wheel;
+    private final Map<Scenario, LatencyRecorder> recorders = new EnumMap<>(Scenario.class);
+    private final AtomicLong createdProducts = new AtomicLong();
+    private volatile boolean recording;
+    private volatile boolean running = true;
+
+    private LoadTest(LoadTestConfig config, LoadTestData data, int port) {
+        this.config = config;
+        this.data = data;
+        this.baseUrl = "http://localhost:" + port + "/api";
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        List<Scenario> slots = new ArrayList<>();
+        config.mix().forEach((scenario, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(scenario);
+            }
+            recorders.put(scenario, new LatencyRecorder());
+        });
+        this.wheel = slots.toArray(Scenario[]::new);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        if (config.products() < config.users()) {
+            throw new IllegalArgumentException("loadtest.products must be at least loadtest.users");
+        }
+
+        try (ConfigurableApplicationContext context = startApplication()) {
+            long seedStart = System.nanoTime();
+            LoadTestData data = LoadTestData.seed(context, config);
+            System.out.printf("Seeded %d cities, %d users, %d products in %.1f s%n",
+                    config.cities(), config.users(), config.products(), (System.nanoTime() - seedStart) / 1e9);
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            new LoadTest(config, data, port).run();
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication() {
+        return new SpringApplicationBuilder(GerenciadorProdutosJwtAuthApplication.class)
+                // command-line arguments, so they win over the placeholders in application.properties
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--app.jwt.secret=" + JWT_SECRET,
+                        "--app.jwt.expiration=3600000",
+                        "--logging.level.root=WARN");
+    }
+
+    private void run() throws Exception {
+        List<Thread> clients = new ArrayList<>();
+        for (int i = 0; i < config.concurrency(); i++) {
+            int clientIndex = i;
+            clients.add(Thread.ofPlatform().name("loadtest-client-" + i).start(() -> drive(clientIndex)));
+        }
+
+        System.out.printf("Warming up for %d s with %d clients%n", config.warmup().toSeconds(), config.concurrency());
+        Thread.sleep(config.warmup().toMillis());
+        recording = true;
+        long start = System.nanoTime();
+        System.out.printf("Measuring for %d s%n", config.duration().toSeconds());
+        Thread.sleep(config.duration().toMillis());
+        running = false;
+        for (Thread client : clients) {
+            client.join();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        report(seconds);
+    }
+
+    private void drive(int clientIndex) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        // refresh tokens are single use, so each client rotates its own
+        String refreshToken = data.refreshTokens[clientIndex];
+        while (running) {
+            Scenario scenario = wheel[random.nextInt(wheel.length)];
+            HttpRequest request = request(scenario, random, refreshToken);
+            boolean measured = recording;
+            long start = System.nanoTime();
+            boolean success;
+            try {
+                if (scenario == Scenario.REFRESH) {
+                    HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                    Matcher matcher = REFRESH_TOKEN.matcher(response.body());
+                    success = response.statusCode() == 200 && matcher.find();
+                    if (success) {
+                        refreshToken = matcher.group(1);
+                    }
+                } else {
+                    int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    success = status >= 200 && status < 300;
+                }
+            } catch (IOException e) {
+                success = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (measured) {
+                recorders.get(scenario).record(System.nanoTime() - start, success);
+            }
+        }
+    }
+
+    private HttpRequest request(Scenario scenario, ThreadLocalRandom random, String refreshToken) {
+        int user = random.nextInt(data.cpfs.length);
+        String authorization = "Bearer " + data.tokens[user];
+        return switch (scenario) {
+            case LOGIN -> json("/auth/login", null)
+                    .POST(body("{\"cpf\":\"%s\",\"password\":\"%s\"}", data.cpfs[user], LoadTestData.PASSWORD))
+                    .build();
+            case REFRESH -> json("/auth/refresh", null)
+                    .POST(body("{\"refreshToken\":\"%s\"}", refreshToken))
+                    .build();
+            case LIST_PRODUCTS -> json("/products?page=" + random.nextInt(100) + "&size=20", authorization)
+                    .GET()
+                    .build();
+            case SCROLL_PRODUCTS -> json("/products/scroll?size=20", authorization)
+                    .GET()
+                    .build();
+            case GET_PRODUCT -> json("/products/" + data.productIds[random.nextInt(data.productIds.length)], authorization)
+                    .GET()
+                    .build();
+            case CREATE_PRODUCT -> json("/products", authorization)
+                    .POST(body("{\"productCode\":\"LOAD%d\",\"productName\":\"Load product\",\"productValue\":9.9,\"stock\":10,\"cityId\":%d}",
+                            createdProducts.incrementAndGet(), data.cityIds[random.nextInt(data.cityIds.length)]))
+                    .build();
+            case ADJUST_STOCK -> json("/products/" + data.productOwnedBy(user, random.nextInt()) + "/stock", authorization)
+                    .method("PATCH", body("{\"delta\":1}"))
+                    .build();
+        };
+    }
+
+    private HttpRequest.Builder json(String path, String authorization) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json");
+        return authorization == null ? builder : builder.header("Authorization", authorization);
+    }
+
+    private static HttpRequest.BodyPublisher body(String format, Object... args) {
+        return HttpRequest.BodyPublishers.ofString(String.format(Locale.ROOT, format, args));
+    }
+
+    private void report(double seconds) throws IOException {
+        String header = String.format("%-28s %9s %7s %10s %9s %9s %9s %9s",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        System.out.println();
+        System.out.println(header);
+
+        Path reportPath = Path.of(config.report());
+        Files.createDirectories(reportPath.toAbsolutePath().getParent());
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(reportPath))) {
+            csv.println("endpoint,requests,errors,throughput,p50_ms,p95_ms,p99_ms,max_ms");
+            long total = 0;
+            for (Map.Entry<Scenario, LatencyRecorder> entry : recorders.entrySet()) {
+                LatencyRecorder.Summary summary = entry.getValue().summarize(seconds);
+                String endpoint = entry.getKey().endpoint();
+                total += summary.requests();
+                System.out.printf(Locale.ROOT, "%-28s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                        endpoint, summary.requests(), summary.errors(), summary.throughput(),
+                        millis(summary.p50()), millis(summary.p95()), millis(summary.p99()), millis(summary.max()));
+                csv.printf(Locale.ROOT, "%s,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f%n",
+                        endpoint, summary.requests(), summary.errors(), summary.throughput(),
+                        millis(summary.p50()), millis(summary.p95()), millis(summary.p99()), millis(summary.max()));
+            }
+            System.out.printf(Locale.ROOT, "%-28s %9d %7s %10.1f%n", "total", total, "", total / seconds);
+        }
+        System.out.println("Report written to " + reportPath.toAbsolutePath());
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
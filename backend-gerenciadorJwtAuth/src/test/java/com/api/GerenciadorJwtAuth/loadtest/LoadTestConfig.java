@@ -0,0 +1,54 @@
+package com.api.GerenciadorJwtAuth.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Load test settings, read from {@code loadtest.*} system properties (see the loadtest profile
+ * in pom.xml for the defaults used there).
+ */
+record LoadTestConfig(int users,
+                      int cities,
+                      int products,
+                      int concurrency,
+                      Duration warmup,
+                      Duration duration,
+                      Map<Scenario, Integer> mix,
+                      String report) {
+
+    static final String DEFAULT_MIX = "LOGIN:5,LIST_PRODUCTS:35,SCROLL_PRODUCTS:10,GET_PRODUCT:25,CREATE_PRODUCT:10,ADJUST_STOCK:15";
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                Integer.getInteger("loadtest.users", 200),
+                Integer.getInteger("loadtest.cities", 50),
+                Integer.getInteger("loadtest.products", 50_000),
+                Integer.getInteger("loadtest.concurrency", 32),
+                Duration.ofSeconds(Integer.getInteger("loadtest.warmup", 10)),
+                Duration.ofSeconds(Integer.getInteger("loadtest.duration", 30)),
+                parseMix(System.getProperty("loadtest.mix", DEFAULT_MIX)),
+                System.getProperty("loadtest.report", "target/loadtest-report.csv"));
+    }
+
+    /**
+     * Parses {@code SCENARIO:weight} pairs separated by commas.
+     */
+    static Map<Scenario, Integer> parseMix(String mix) {
+        Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(Scenario.valueOf(parts[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Mix has no scenario with a positive weight: " + mix);
+        }
+        return weights;
+    }
+}
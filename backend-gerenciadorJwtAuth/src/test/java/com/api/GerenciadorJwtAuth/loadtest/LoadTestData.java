@@ -0,0 +1,125 @@
+package com.api.GerenciadorJwtAuth.loadtest;
+
+import com.api.GerenciadorJwtAuth.model.City;
+import com.api.GerenciadorJwtAuth.model.Product;
+import com.api.GerenciadorJwtAuth.model.Role;
+import com.api.GerenciadorJwtAuth.model.User;
+import com.api.GerenciadorJwtAuth.repository.CityRepository;
+import com.api.GerenciadorJwtAuth.repository.ProductRepository;
+import com.api.GerenciadorJwtAuth.repository.UserRepository;
+import com.api.GerenciadorJwtAuth.security.JwtTokenProvider;
+import com.api.GerenciadorJwtAuth.service.RefreshTokenService;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seeds cities, users and products through the application's own repositories, so ids come from
+ * the same sequences the endpoints use. Product {@code i} belongs to user {@code i % users}, and
+ * client {@code i} starts with a refresh token of user {@code i % users}.
+ */
+final class LoadTestData {
+
+    static final String PASSWORD = "loadtest-password";
+    private static final int CHUNK_SIZE = 1_000;
+
+    final long[] cityIds;
+    final String[] cpfs;
+    final String[] tokens;
+    final String[] refreshTokens;
+    final long[] productIds;
+
+    private LoadTestData(long[] cityIds, String[] cpfs, String[] tokens, String[] refreshTokens, long[] productIds) {
+        this.cityIds = cityIds;
+        this.cpfs = cpfs;
+        this.tokens = tokens;
+        this.refreshTokens = refreshTokens;
+        this.productIds = productIds;
+    }
+
+    static LoadTestData seed(ConfigurableApplicationContext context, LoadTestConfig config) {
+        TransactionTemplate transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        CityRepository cityRepository = context.getBean(CityRepository.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        JwtTokenProvider tokenProvider = context.getBean(JwtTokenProvider.class);
+        RefreshTokenService refreshTokenService = context.getBean(RefreshTokenService.class);
+
+        List<City> cities = new ArrayList<>();
+        for (int i = 0; i < config.cities(); i++) {
+            City city = new City();
+            city.setName("Load City " + i);
+            city.setState("PE");
+            cities.add(city);
+        }
+        long[] cityIds = transaction.execute(status -> cityRepository.saveAll(cities)).stream().mapToLong(City::getId).toArray();
+
+        // one hash shared by every user, otherwise seeding would be dominated by BCrypt
+        String encodedPassword = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < config.users(); i++) {
+            users.add(User.builder()
+                    .name("Load User " + i)
+                    .cpf(cpf(i))
+                    .password(encodedPassword)
+                    .role(Role.USER)
+                    .build());
+        }
+        List<User> savedUsers = transaction.execute(status -> userRepository.saveAll(users));
+        String[] cpfs = new String[savedUsers.size()];
+        String[] tokens = new String[savedUsers.size()];
+        for (int i = 0; i < savedUsers.size(); i++) {
+            User user = savedUsers.get(i);
+            cpfs[i] = user.getCpf();
+            tokens[i] = tokenProvider.generateToken(
+                    new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        }
+        String[] refreshTokens = new String[config.concurrency()];
+        for (int i = 0; i < refreshTokens.length; i++) {
+            refreshTokens[i] = refreshTokenService.issue(savedUsers.get(i % savedUsers.size()));
+        }
+
+        long[] productIds = new long[config.products()];
+        for (int start = 0; start < config.products(); start += CHUNK_SIZE) {
+            int first = start;
+            int end = Math.min(start + CHUNK_SIZE, config.products());
+            List<Product> saved = transaction.execute(status -> {
+                List<Product> chunk = new ArrayList<>(end - first);
+                for (int i = first; i < end; i++) {
+                    Product product = new Product();
+                    product.setProductCode("S" + i);
+                    product.setProductName("Seeded product " + i);
+                    product.setProductValue(i % 1000 / 10.0);
+                    product.setStock(1_000);
+                    product.setCity(cityRepository.getReferenceById(cityIds[i % cityIds.length]));
+                    product.setUser(userRepository.getReferenceById(savedUsers.get(i % savedUsers.size()).getId()));
+                    chunk.add(product);
+                }
+                return productRepository.saveAll(chunk);
+            });
+            for (int i = 0; i < saved.size(); i++) {
+                productIds[first + i] = saved.get(i).getId();
+            }
+        }
+
+        return new LoadTestData(cityIds, cpfs, tokens, refreshTokens, productIds);
+    }
+
+    /**
+     * A product owned by the given user, following the {@code i % users} assignment.
+     */
+    long productOwnedBy(int user, int pick) {
+        int owned = (productIds.length - user + cpfs.length - 1) / cpfs.length;
+        return productIds[user + cpfs.length * Math.floorMod(pick, owned)];
+    }
+
+    private static String cpf(int i) {
+        String digits = String.format("%011d", i);
+        return digits.substring(0, 3) + "." + digits.substring(3, 6) + "." + digits.substring(6, 9) + "-" + digits.substring(9);
+    }
+}
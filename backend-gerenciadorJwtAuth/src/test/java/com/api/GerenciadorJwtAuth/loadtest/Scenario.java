@@ -0,0 +1,24 @@
+package com.api.GerenciadorJwtAuth.loadtest;
+
+/**
+ * The requests a simulated client can make; each one is reported as its own endpoint.
+ */
+enum Scenario {
+    LOGIN("POST /auth/login"),
+    REFRESH("POST /auth/refresh"),
+    LIST_PRODUCTS("GET /products"),
+    SCROLL_PRODUCTS("GET /products/scroll"),
+    GET_PRODUCT("GET /products/{id}"),
+    CREATE_PRODUCT("POST /products"),
+    ADJUST_STOCK("PATCH /products/{id}/stock");
+
+    private final String endpoint;
+
+    Scenario(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+}
@@ -0,0 +1,116 @@
+package com.api.GerenciadorJwtAuth.repository;
+
+import com.api.GerenciadorJwtAuth.config.SecondLevelCacheConfig;
+import com.api.GerenciadorJwtAuth.dto.StockAdjustment;
+import com.api.GerenciadorJwtAuth.model.City;
+import com.api.GerenciadorJwtAuth.model.Product;
+import com.api.GerenciadorJwtAuth.model.Role;
+import com.api.GerenciadorJwtAuth.model.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+@DataJpaTest(properties = {
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import(SecondLevelCacheConfig.class)
+class ProductStockRepositoryTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private ProductStockRepository repository;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ProductStockRepository(jdbcTemplate, namedParameterJdbcTemplate);
+
+        City city = new City();
+        city.setName("Recife");
+        city.setState("PE");
+        entityManager.persist(city);
+        User user = User.builder()
+                .name("Stock User")
+                .cpf("123.456.789-01")
+                .password("encoded_password")
+                .role(Role.USER)
+                .build();
+        entityManager.persist(user);
+        product = new Product();
+        product.setProductCode("P1");
+        product.setProductName("Product 1");
+        product.setProductValue(1.5);
+        product.setStock(5);
+        product.setCity(city);
+        product.setUser(user);
+        entityManager.persist(product);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void applyDeltas_ShouldReportEachRowAgainstTheStockGuard() {
+        int[] counts = repository.applyDeltas(List.of(
+                new StockAdjustment(product.getId(), -3),
+                new StockAdjustment(product.getId(), -3),
+                new StockAdjustment(product.getId(), 1)), null);
+
+        assertThat(counts).containsExactly(1, 0, 1);
+        assertThat(stock()).isEqualTo(3);
+    }
+
+    @Test
+    void applyDeltas_WhenTheSumWouldOverflow_ShouldRejectOnlyThatRow() {
+        int[] counts = repository.applyDeltas(List.of(
+                new StockAdjustment(product.getId(), Integer.MAX_VALUE),
+                new StockAdjustment(product.getId(), 2)), null);
+
+        assertThat(counts).containsExactly(0, 1);
+        assertThat(stock()).isEqualTo(7);
+    }
+
+    @Test
+    void applyDeltas_WhenTheDriverAnswersNoInfo_ShouldRunTheRowsOneByOne() {
+        JdbcTemplate rewritingDriver = spy(jdbcTemplate);
+        // the batch really runs, but the counts come back as a rewriting driver reports them
+        doAnswer(invocation -> {
+            invocation.callRealMethod();
+            return new int[]{Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO};
+        }).when(rewritingDriver).batchUpdate(anyString(), anyList());
+        repository = new ProductStockRepository(rewritingDriver, namedParameterJdbcTemplate);
+
+        int[] counts = repository.applyDeltas(List.of(
+                new StockAdjustment(product.getId(), -3),
+                new StockAdjustment(product.getId(), -3)), null);
+
+        assertThat(counts).containsExactly(1, 0);
+        assertThat(stock()).isEqualTo(2);
+    }
+
+    private int stock() {
+        return jdbcTemplate.queryForObject("SELECT stock FROM products WHERE id = ?", Integer.class, product.getId());
+    }
+}
@@ -0,0 +1,105 @@
+package com.api.GerenciadorJwtAuth.repository;
+
+import com.api.GerenciadorJwtAuth.config.SecondLevelCacheConfig;
+import com.api.GerenciadorJwtAuth.model.City;
+import com.api.GerenciadorJwtAuth.model.Role;
+import com.api.GerenciadorJwtAuth.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every repository call in its own transaction, so repeated reads can only be served
+ * by the second-level cache and not by the persistence context.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import(SecondLevelCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private CityRepository cityRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private City city;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        city = new City();
+        city.setName("Recife");
+        city.setState("PE");
+        city = cityRepository.save(city);
+        user = userRepository.save(User.builder()
+                .name("Cached User")
+                .cpf("123.456.789-01")
+                .password("encoded_password")
+                .role(Role.USER)
+                .build());
+
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+        cityRepository.deleteAll();
+    }
+
+    @Test
+    void findById_RepeatedReads_ShouldQueryOnce() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(cityRepository.findById(city.getId())).isPresent();
+            assertThat(userRepository.findById(user.getId())).isPresent();
+        }
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.CITIES_REGION).getHitCount()).isEqualTo(4);
+        assertThat(statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.USERS_REGION).getHitCount()).isEqualTo(4);
+    }
+
+    @Test
+    void findByCpf_RepeatedReads_ShouldQueryOnce() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(userRepository.findByCpf("123.456.789-01")).isPresent();
+        }
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getQueryRegionStatistics(SecondLevelCacheConfig.USERS_BY_CPF_REGION).getHitCount()).isEqualTo(4);
+    }
+
+    @Test
+    void findByCpf_AfterUserUpdate_ShouldNotReturnStaleData() {
+        assertThat(userRepository.findByCpf("123.456.789-01")).isPresent();
+
+        User loaded = userRepository.findById(user.getId()).orElseThrow();
+        loaded.setName("Renamed User");
+        userRepository.save(loaded);
+
+        assertThat(userRepository.findByCpf("123.456.789-01")).get()
+                .extracting(User::getName).isEqualTo("Renamed User");
+    }
+}
@@ -0,0 +1,140 @@
+package com.api.GerenciadorJwtAuth.security;
+
+import com.api.GerenciadorJwtAuth.model.Role;
+import com.api.GerenciadorJwtAuth.model.User;
+import com.api.GerenciadorJwtAuth.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    private final String secret = "YourVeryStrongSecretKeyHereShouldBeAtLeast256BitsLongForBetterSecurity";
+
+    @Mock
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private VerifiedTokenCache tokenCache;
+    private TokenRevocationList revocationList;
+    private TokenVersionRegistry tokenVersionRegistry;
+    private JwtTokenProvider tokenProvider;
+    private User user;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.clearContext();
+        tokenProvider = new JwtTokenProvider(secret, 60000);
+        tokenCache = new VerifiedTokenCache(tokenProvider, new SimpleMeterRegistry(), false, 100);
+        revocationList = new TokenRevocationList(100, 0.01, new SimpleMeterRegistry());
+        tokenVersionRegistry = new TokenVersionRegistry(userRepository, new SimpleMeterRegistry(), 100, 60000);
+        tokenVersionRegistry.update(7L, 0L);
+
+        user = User.builder()
+                .id(7L)
+                .name("Test User")
+                .cpf("123.456.789-01")
+                .password("encoded_password")
+                .role(Role.ADMIN)
+                .build();
+
+        token = tokenProvider.generateToken(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_WhenTrustingClaims_ShouldAuthenticateWithoutLoadingUser() throws Exception {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(tokenCache, revocationList, tokenVersionRegistry, userDetailsService, true);
+
+        filter.doFilter(bearerRequest(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getPrincipal()).isEqualTo(new UserPrincipal(7L, "123.456.789-01", Role.ADMIN));
+        assertThat(authentication.getAuthorities()).extracting("authority").containsExactly("ROLE_ADMIN");
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void doFilter_WhenVerifyingAgainstDatabase_ShouldLoadUser() throws Exception {
+        user.setRole(Role.USER);
+        when(userDetailsService.loadUserByUsername("123.456.789-01")).thenReturn(user);
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(tokenCache, revocationList, tokenVersionRegistry, userDetailsService, false);
+
+        filter.doFilter(bearerRequest(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+        verify(userDetailsService).loadUserByUsername("123.456.789-01");
+    }
+
+    @Test
+    void doFilter_WithInvalidToken_ShouldNotAuthenticate() throws Exception {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(tokenCache, revocationList, tokenVersionRegistry, userDetailsService, true);
+
+        filter.doFilter(bearerRequest("invalid.token.string"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    void doFilter_WithRevokedToken_ShouldNotAuthenticate() throws Exception {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(tokenCache, revocationList, tokenVersionRegistry, userDetailsService, true);
+        revocationList.add(tokenProvider.verify(token).get().getTokenId());
+
+        filter.doFilter(bearerRequest(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    void doFilter_WithTokenOfRevokedUser_ShouldNotAuthenticate() throws Exception {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(tokenCache, revocationList, tokenVersionRegistry, userDetailsService, true);
+        revocationList.add(TokenRevocationList.userKey(7L));
+
+        filter.doFilter(bearerRequest(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    void doFilter_WithOutdatedTokenVersion_ShouldNotAuthenticate() throws Exception {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(tokenCache, revocationList, tokenVersionRegistry, userDetailsService, true);
+        tokenVersionRegistry.update(7L, 1L);
+
+        filter.doFilter(bearerRequest(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verifyNoInteractions(userRepository);
+    }
+
+    private MockHttpServletRequest bearerRequest(String jwt) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/products");
+        request.addHeader("Authorization", "Bearer " + jwt);
+        return request;
+    }
+}
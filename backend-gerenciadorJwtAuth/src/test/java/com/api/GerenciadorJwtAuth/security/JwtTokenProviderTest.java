@@ -9,15 +9,16 @@ import org.junit.jupiter.api.Test;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.test.util.ReflectionTestUtils;
 
 import java.security.Key;
 import java.util.Base64;
 import java.util.Collections;
 import java.util.Date;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class JwtTokenProviderTest {
@@ -29,9 +30,7 @@ public class JwtTokenProviderTest {
 
     @BeforeEach
     void setUp() {
-        tokenProvider = new JwtTokenProvider();
-        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", secret);
-        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationMs", 60000); // 1 minute
+        tokenProvider = new JwtTokenProvider(secret, 60000); // 1 minute
 
         User user = User.builder()
                 .id(1L)
@@ -131,4 +130,43 @@ public class JwtTokenProviderTest {
         // Then
         assertThat(cpf).isEqualTo("12345678901");
     }
+
+    @Test
+    void verify_WithValidToken_ShouldReturnVerifiedClaims() {
+        // Given
+        String token = tokenProvider.generateToken(authentication);
+
+        // When
+        Optional<VerifiedToken> verified = tokenProvider.verify(token);
+
+        // Then
+        assertThat(verified).isPresent();
+        assertThat(verified.get().getSubject()).isEqualTo("12345678901");
+        assertThat(verified.get().getExpiration()).isInTheFuture();
+        assertThat(verified.get().getTokenId()).isNotBlank();
+        assertThat(verified.get().getTokenVersion()).isEqualTo(0L);
+    }
+
+    @Test
+    void generateToken_ShouldGiveEachTokenItsOwnId() {
+        String first = tokenProvider.generateToken(authentication);
+        String second = tokenProvider.generateToken(authentication);
+
+        assertThat(tokenProvider.verify(first).get().getTokenId())
+                .isNotEqualTo(tokenProvider.verify(second).get().getTokenId());
+    }
+
+    @Test
+    void verify_WithInvalidToken_ShouldReturnEmpty() {
+        assertThat(tokenProvider.verify("invalid.token.string")).isEmpty();
+        assertThat(tokenProvider.verify(null)).isEmpty();
+    }
+
+    @Test
+    void constructor_WithShortSecret_ShouldFailFast() {
+        String shortSecret = Base64.getEncoder().encodeToString(new byte[16]);
+
+        assertThrows(IllegalStateException.class, () -> new JwtTokenProvider(shortSecret, 60000));
+        assertThrows(IllegalStateException.class, () -> new JwtTokenProvider("", 60000));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.api.GerenciadorJwtAuth.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordEncodersTest {
+
+    private static final String PASSWORD = "password123";
+
+    @Test
+    void encode_ShouldPrefixConfiguredAlgorithm() {
+        assertThat(encoder(PasswordEncoders.BCRYPT, 4).encode(PASSWORD)).startsWith("{bcrypt}$2a$04$");
+        assertThat(encoder(PasswordEncoders.ARGON2, 4).encode(PASSWORD)).startsWith("{argon2}$argon2id$");
+    }
+
+    @Test
+    void legacyUnprefixedBcryptHash_ShouldMatchAndNeedUpgrade() {
+        String legacy = new BCryptPasswordEncoder(4).encode(PASSWORD);
+        PasswordEncoder encoder = encoder(PasswordEncoders.BCRYPT, 4);
+
+        assertThat(encoder.matches(PASSWORD, legacy)).isTrue();
+        assertThat(encoder.upgradeEncoding(legacy)).isTrue();
+    }
+
+    @Test
+    void upgradeEncoding_ShouldFollowConfiguredCost() {
+        String hash = encoder(PasswordEncoders.BCRYPT, 4).encode(PASSWORD);
+
+        assertThat(encoder(PasswordEncoders.BCRYPT, 4).upgradeEncoding(hash)).isFalse();
+        assertThat(encoder(PasswordEncoders.BCRYPT, 5).upgradeEncoding(hash)).isTrue();
+        assertThat(encoder(PasswordEncoders.BCRYPT, 5).matches(PASSWORD, hash)).isTrue();
+    }
+
+    @Test
+    void switchingAlgorithm_ShouldKeepOldHashesValidAndUpgradeThem() {
+        String bcryptHash = encoder(PasswordEncoders.BCRYPT, 4).encode(PASSWORD);
+        PasswordEncoder argon2 = encoder(PasswordEncoders.ARGON2, 4);
+
+        assertThat(argon2.matches(PASSWORD, bcryptHash)).isTrue();
+        assertThat(argon2.upgradeEncoding(bcryptHash)).isTrue();
+        assertThat(argon2.upgradeEncoding(argon2.encode(PASSWORD))).isFalse();
+    }
+
+    @Test
+    void unknownAlgorithm_ShouldFailFast() {
+        assertThatThrownBy(() -> encoder("md5", 4))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("md5");
+    }
+
+    // small argon2 memory keeps the test fast
+    private static PasswordEncoder encoder(String algorithm, int bcryptStrength) {
+        return PasswordEncoders.delegating(algorithm, bcryptStrength, 1024, 1, 1);
+    }
+}
@@ -0,0 +1,14 @@
+package com.api.GerenciadorJwtAuth.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenDigestsTest {
+
+    @Test
+    void sha256Hex_ShouldMatchTheStandardTestVector() {
+        assertThat(TokenDigests.sha256Hex("abc"))
+                .isEqualTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+    }
+}
@@ -0,0 +1,73 @@
+package com.api.GerenciadorJwtAuth.security;
+
+import com.api.GerenciadorJwtAuth.model.Role;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenRevocationListTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TokenRevocationList revocationList;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        revocationList = new TokenRevocationList(100, 0.01, meterRegistry);
+    }
+
+    @Test
+    void isRevoked_ShouldMatchRevokedTokenIdOnly() {
+        revocationList.add("token-1");
+
+        assertThat(revocationList.isRevoked(token(1L, "token-1"))).isTrue();
+        assertThat(revocationList.isRevoked(token(1L, "token-2"))).isFalse();
+    }
+
+    @Test
+    void isRevoked_ShouldMatchEveryTokenOfARevokedUser() {
+        revocationList.add(TokenRevocationList.userKey(1L));
+
+        assertThat(revocationList.isRevoked(token(1L, "token-1"))).isTrue();
+        assertThat(revocationList.isRevoked(token(1L, null))).isTrue();
+        assertThat(revocationList.isRevoked(token(2L, "token-2"))).isFalse();
+        assertThat(revocationList.isRevoked(token(null, null))).isFalse();
+    }
+
+    @Test
+    void replaceAll_ShouldDropKeysThatAreNoLongerListed() {
+        revocationList.add("token-1");
+        revocationList.add("token-2");
+
+        revocationList.replaceAll(List.of("token-2", "token-3"));
+
+        assertThat(revocationList.isRevoked(token(1L, "token-1"))).isFalse();
+        assertThat(revocationList.isRevoked(token(1L, "token-2"))).isTrue();
+        assertThat(revocationList.isRevoked(token(1L, "token-3"))).isTrue();
+        assertThat(meterRegistry.get("auth.revoked.tokens").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    void reload_ShouldKeepKeysAddedWhileTheLoaderRuns() {
+        revocationList.reload(() -> {
+            revocationList.add("token-1");
+            return List.of("token-2");
+        });
+
+        assertThat(revocationList.isRevoked(token(1L, "token-1"))).isTrue();
+        assertThat(revocationList.isRevoked(token(1L, "token-2"))).isTrue();
+
+        revocationList.reload(List::of);
+
+        assertThat(revocationList.isRevoked(token(1L, "token-1"))).isFalse();
+    }
+
+    private static VerifiedToken token(Long userId, String tokenId) {
+        return new VerifiedToken("123.456.789-01", userId, Role.USER, new Date(System.currentTimeMillis() + 60000), tokenId, 0L);
+    }
+}
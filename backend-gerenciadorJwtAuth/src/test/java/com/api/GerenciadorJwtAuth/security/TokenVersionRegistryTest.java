@@ -0,0 +1,125 @@
+package com.api.GerenciadorJwtAuth.security;
+
+import com.api.GerenciadorJwtAuth.model.Role;
+import com.api.GerenciadorJwtAuth.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenVersionRegistryTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final List<Runnable> refreshes = new ArrayList<>();
+    private TokenVersionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new TokenVersionRegistry(userRepository, new SimpleMeterRegistry(), 100, 60000,
+                nanos::get, refreshes::add);
+    }
+
+    @Test
+    void isCurrent_WithCurrentVersion_ShouldLoadVersionOnlyOnce() {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(2L));
+
+        assertThat(registry.isCurrent(token(1L, 2L))).isTrue();
+        assertThat(registry.isCurrent(token(1L, 2L))).isTrue();
+
+        verify(userRepository, times(1)).findTokenVersionById(1L);
+    }
+
+    @Test
+    void isCurrent_WithOutdatedVersion_ShouldReturnFalse() {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(2L));
+
+        assertThat(registry.isCurrent(token(1L, 1L))).isFalse();
+    }
+
+    @Test
+    void isCurrent_WithoutVersionClaim_ShouldCountAsVersionZero() {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(0L));
+
+        assertThat(registry.isCurrent(token(1L, null))).isTrue();
+    }
+
+    @Test
+    void isCurrent_WithUnknownUser_ShouldReturnFalseAndRememberTheAbsence() {
+        when(userRepository.findTokenVersionById(99L)).thenReturn(Optional.empty());
+
+        assertThat(registry.isCurrent(token(99L, 0L))).isFalse();
+        assertThat(registry.isCurrent(token(99L, 0L))).isFalse();
+
+        verify(userRepository, times(1)).findTokenVersionById(99L);
+    }
+
+    @Test
+    void isCurrent_AfterHalfTheTtl_ShouldAnswerFromMemoryAndReloadInTheBackground() {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(2L));
+        assertThat(registry.isCurrent(token(1L, 2L))).isTrue();
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(31));
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(3L));
+
+        assertThat(registry.isCurrent(token(1L, 2L))).isTrue();
+        verify(userRepository, times(1)).findTokenVersionById(1L);
+
+        runRefreshes();
+
+        assertThat(registry.isCurrent(token(1L, 2L))).isFalse();
+        assertThat(registry.isCurrent(token(1L, 3L))).isTrue();
+    }
+
+    @Test
+    void update_ShouldRejectOlderTokensWithoutReloading() {
+        registry.update(1L, 3L);
+
+        assertThat(registry.isCurrent(token(1L, 2L))).isFalse();
+        assertThat(registry.isCurrent(token(1L, 3L))).isTrue();
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void updateAfterCommit_ShouldWaitForTheTransactionToCommit() {
+        registry.update(1L, 2L);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            registry.updateAfterCommit(1L, 3L);
+
+            assertThat(registry.isCurrent(token(1L, 2L))).isTrue();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(registry.isCurrent(token(1L, 3L))).isTrue();
+    }
+
+    private void runRefreshes() {
+        while (!refreshes.isEmpty()) {
+            refreshes.remove(0).run();
+        }
+    }
+
+    private VerifiedToken token(Long userId, Long tokenVersion) {
+        return new VerifiedToken("123.456.789-01", userId, Role.USER,
+                new Date(System.currentTimeMillis() + 60000), "token-" + userId, tokenVersion);
+    }
+}
@@ -0,0 +1,145 @@
+package com.api.GerenciadorJwtAuth.security;
+
+import com.api.GerenciadorJwtAuth.model.Role;
+import com.api.GerenciadorJwtAuth.model.User;
+import com.api.GerenciadorJwtAuth.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserDetailsServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    private UserDetailsServiceImpl userDetailsService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userDetailsService = new UserDetailsServiceImpl(userRepository, tokenVersionRegistry, new SimpleMeterRegistry(), 100, 60000);
+
+        user = User.builder()
+                .id(1L)
+                .name("Test User")
+                .cpf("123.456.789-01")
+                .password("encoded_password")
+                .role(Role.USER)
+                .build();
+    }
+
+    @Test
+    void loadUserByUsername_CalledTwice_ShouldQueryRepositoryOnce() {
+        when(userRepository.findByCpf("123.456.789-01")).thenReturn(Optional.of(user));
+        when(tokenVersionRegistry.isCurrent(1L, 0L)).thenReturn(true);
+
+        userDetailsService.loadUserByUsername("123.456.789-01");
+        User cached = userDetailsService.loadUserByUsername("123.456.789-01");
+
+        assertThat(cached).isSameAs(user);
+        verify(userRepository, times(1)).findByCpf("123.456.789-01");
+
+        CacheStats stats = userDetailsService.getCacheStats();
+        assertThat(stats.hitCount()).isEqualTo(1);
+        assertThat(stats.missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void loadUserByUsername_WhenTokenVersionWasBumped_ShouldReloadUser() {
+        User changed = user.toBuilder().password("changed_password").tokenVersion(1L).build();
+        when(userRepository.findByCpf("123.456.789-01")).thenReturn(Optional.of(user))
+                .thenReturn(Optional.of(changed));
+        // a password change on another instance: this cache still holds the old hash
+        when(tokenVersionRegistry.isCurrent(1L, 0L)).thenReturn(false);
+
+        userDetailsService.loadUserByUsername("123.456.789-01");
+        User reloaded = userDetailsService.loadUserByUsername("123.456.789-01");
+
+        assertThat(reloaded.getPassword()).isEqualTo("changed_password");
+        assertThat(reloaded.getTokenVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void loadUserByUsername_AfterEvict_ShouldReloadUser() {
+        when(userRepository.findByCpf("123.456.789-01")).thenReturn(Optional.of(user));
+
+        userDetailsService.loadUserByUsername("123.456.789-01");
+        userDetailsService.evictUser(1L);
+        userDetailsService.loadUserByUsername("123.456.789-01");
+
+        verify(userRepository, times(2)).findByCpf("123.456.789-01");
+    }
+
+    @Test
+    void evictUserAfterCommit_ShouldWaitForTheCommit() {
+        when(userRepository.findByCpf("123.456.789-01")).thenReturn(Optional.of(user));
+        when(tokenVersionRegistry.isCurrent(1L, 0L)).thenReturn(true);
+        userDetailsService.loadUserByUsername("123.456.789-01");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userDetailsService.evictUserAfterCommit(1L);
+            userDetailsService.loadUserByUsername("123.456.789-01");
+            verify(userRepository, times(1)).findByCpf("123.456.789-01");
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        userDetailsService.loadUserByUsername("123.456.789-01");
+        verify(userRepository, times(2)).findByCpf("123.456.789-01");
+    }
+
+    @Test
+    void loadUserByUsername_WhenNotFound_ShouldThrowAndNotCache() {
+        when(userRepository.findByCpf("000.000.000-00")).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("000.000.000-00"));
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("000.000.000-00"));
+
+        verify(userRepository, times(2)).findByCpf("000.000.000-00");
+    }
+
+    @Test
+    void updatePassword_ShouldStoreNewHashAndEvictCachedUser() {
+        user.setVersion(3L);
+        when(userRepository.findByCpf("123.456.789-01")).thenReturn(Optional.of(user));
+        when(userRepository.updatePassword(1L, "encoded_password", "{bcrypt}new_hash")).thenReturn(1);
+        userDetailsService.loadUserByUsername("123.456.789-01");
+
+        UserDetails updated = userDetailsService.updatePassword(user, "{bcrypt}new_hash");
+        userDetailsService.loadUserByUsername("123.456.789-01");
+
+        assertThat(updated.getPassword()).isEqualTo("{bcrypt}new_hash");
+        assertThat(((User) updated).getVersion()).isEqualTo(4L);
+        verify(userRepository, times(2)).findByCpf("123.456.789-01");
+    }
+
+    @Test
+    void updatePassword_WhenHashChangedConcurrently_ShouldKeepUser() {
+        when(userRepository.updatePassword(1L, "encoded_password", "{bcrypt}new_hash")).thenReturn(0);
+
+        UserDetails updated = userDetailsService.updatePassword(user, "{bcrypt}new_hash");
+
+        assertThat(updated).isSameAs(user);
+    }
+}
@@ -0,0 +1,69 @@
+package com.api.GerenciadorJwtAuth.security;
+
+import com.api.GerenciadorJwtAuth.model.Role;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Date;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VerifiedTokenCacheTest {
+
+    @Mock
+    private JwtTokenProvider tokenProvider;
+
+    private final VerifiedToken verifiedToken =
+            new VerifiedToken("123.456.789-01", 1L, Role.USER, new Date(System.currentTimeMillis() + 60000), "token-1", 0L);
+
+    @Test
+    void verify_WhenEnabled_ShouldVerifySignatureOnlyOnce() {
+        when(tokenProvider.verify("valid.token")).thenReturn(Optional.of(verifiedToken));
+        VerifiedTokenCache tokenCache = new VerifiedTokenCache(tokenProvider, new SimpleMeterRegistry(), true, 100);
+
+        assertThat(tokenCache.verify("valid.token")).contains(verifiedToken);
+        assertThat(tokenCache.verify("valid.token")).contains(verifiedToken);
+
+        verify(tokenProvider, times(1)).verify("valid.token");
+    }
+
+    @Test
+    void verify_WhenDisabled_ShouldAlwaysDelegate() {
+        when(tokenProvider.verify("valid.token")).thenReturn(Optional.of(verifiedToken));
+        VerifiedTokenCache tokenCache = new VerifiedTokenCache(tokenProvider, new SimpleMeterRegistry(), false, 100);
+
+        tokenCache.verify("valid.token");
+        tokenCache.verify("valid.token");
+
+        verify(tokenProvider, times(2)).verify("valid.token");
+    }
+
+    @Test
+    void verify_WithInvalidToken_ShouldNotCacheFailure() {
+        when(tokenProvider.verify("invalid.token")).thenReturn(Optional.empty());
+        VerifiedTokenCache tokenCache = new VerifiedTokenCache(tokenProvider, new SimpleMeterRegistry(), true, 100);
+
+        assertThat(tokenCache.verify("invalid.token")).isEmpty();
+        assertThat(tokenCache.verify("invalid.token")).isEmpty();
+
+        verify(tokenProvider, times(2)).verify("invalid.token");
+    }
+
+    @Test
+    void verify_WithExpiredEntry_ShouldVerifyAgain() {
+        VerifiedToken expiring = new VerifiedToken("123.456.789-01", 1L, Role.USER, new Date(System.currentTimeMillis() - 1), "token-2", 0L);
+        when(tokenProvider.verify("expiring.token")).thenReturn(Optional.of(expiring));
+        VerifiedTokenCache tokenCache = new VerifiedTokenCache(tokenProvider, new SimpleMeterRegistry(), true, 100);
+
+        tokenCache.verify("expiring.token");
+        tokenCache.verify("expiring.token");
+
+        verify(tokenProvider, times(2)).verify("expiring.token");
+    }
+}
@@ -2,24 +2,35 @@ package com.api.GerenciadorJwtAuth.service;
 
 import com.api.GerenciadorJwtAuth.dto.AuthRequest;
 import com.api.GerenciadorJwtAuth.dto.AuthResponse;
+import com.api.GerenciadorJwtAuth.dto.RefreshRequest;
+import com.api.GerenciadorJwtAuth.exception.LoginCapacityExceededException;
 import com.api.GerenciadorJwtAuth.exception.UnauthorizedException;
 import com.api.GerenciadorJwtAuth.model.Role;
 import com.api.GerenciadorJwtAuth.model.User;
 import com.api.GerenciadorJwtAuth.security.JwtTokenProvider;
+import com.api.GerenciadorJwtAuth.security.VerifiedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 
+import java.util.Date;
+import java.util.Optional;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,17 +42,27 @@ public class AuthServiceTest {
     @Mock
     private JwtTokenProvider tokenProvider;
 
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Spy
+    private LoginExecutor loginExecutor = new LoginExecutor(1, 4, 5000, 2, new SimpleMeterRegistry());
+
     @InjectMocks
     private AuthService authService;
 
     private AuthRequest authRequest;
+    private User user;
     private Authentication authentication;
 
     @BeforeEach
     void setUp() {
         authRequest = new AuthRequest("123.456.789-01", "password123");
 
-        User user = User.builder()
+        user = User.builder()
                 .id(1L)
                 .name("Test User")
                 .cpf("123.456.789-01")
@@ -57,6 +78,8 @@ public class AuthServiceTest {
         // Given
         when(authenticationManager.authenticate(any(Authentication.class))).thenReturn(authentication);
         when(tokenProvider.generateToken(authentication)).thenReturn("test.jwt.token");
+        when(tokenProvider.getExpirationSeconds()).thenReturn(900L);
+        when(refreshTokenService.issue(user)).thenReturn("refresh-token");
 
         // When
         AuthResponse response = authService.authenticate(authRequest);
@@ -65,6 +88,8 @@ public class AuthServiceTest {
         assertThat(response).isNotNull();
         assertThat(response.getToken()).isEqualTo("test.jwt.token");
         assertThat(response.getType()).isEqualTo("Bearer");
+        assertThat(response.getExpiresIn()).isEqualTo(900L);
+        assertThat(response.getRefreshToken()).isEqualTo("refresh-token");
         assertThat(response.getId()).isEqualTo(1L);
         assertThat(response.getName()).isEqualTo("Test User");
         assertThat(response.getCpf()).isEqualTo("123.456.789-01");
@@ -82,4 +107,81 @@ public class AuthServiceTest {
             authService.authenticate(authRequest);
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    void authenticate_WhenLoginPoolIsSaturated_ShouldNotReportBadCredentials() {
+        // Given
+        doThrow(new LoginCapacityExceededException(2)).when(loginExecutor).verify(any());
+
+        // When & Then
+        assertThrows(LoginCapacityExceededException.class, () -> authService.authenticate(authRequest));
+        verifyNoInteractions(authenticationManager, tokenProvider);
+    }
+
+    @Test
+    void refresh_WithValidToken_ShouldIssueTokensWithoutCheckingThePassword() {
+        // Given
+        when(refreshTokenService.rotate("refresh-token"))
+                .thenReturn(new RefreshTokenService.Rotation(user, "next-refresh-token"));
+        when(tokenProvider.generateToken(any(Authentication.class))).thenReturn("test.jwt.token");
+
+        // When
+        AuthResponse response = authService.refresh(new RefreshRequest("refresh-token"));
+
+        // Then
+        assertThat(response.getToken()).isEqualTo("test.jwt.token");
+        assertThat(response.getRefreshToken()).isEqualTo("next-refresh-token");
+        assertThat(response.getId()).isEqualTo(1L);
+        assertThat(response.getRole()).isEqualTo("USER");
+        verifyNoInteractions(authenticationManager, loginExecutor);
+    }
+
+    @Test
+    void refresh_WithRejectedToken_ShouldThrowUnauthorized() {
+        // Given
+        when(refreshTokenService.rotate("refresh-token"))
+                .thenThrow(new UnauthorizedException("Refresh token has already been used"));
+
+        // When & Then
+        assertThrows(UnauthorizedException.class, () -> authService.refresh(new RefreshRequest("refresh-token")));
+        verifyNoInteractions(tokenProvider);
+    }
+
+    @Test
+    void logout_ShouldRevokeAccessTokenAndRefreshTokenFamily() {
+        // Given
+        VerifiedToken verifiedToken = new VerifiedToken("123.456.789-01", 1L, Role.USER,
+                new Date(System.currentTimeMillis() + 60000), "token-1", 0L);
+        when(tokenProvider.verify("test.jwt.token")).thenReturn(Optional.of(verifiedToken));
+
+        // When
+        authService.logout("test.jwt.token", "refresh-token");
+
+        // Then
+        verify(tokenRevocationService).revoke(verifiedToken);
+        verify(refreshTokenService).revoke("refresh-token");
+    }
+
+    @Test
+    void logout_WithExpiredAccessToken_ShouldStillRevokeRefreshToken() {
+        // Given
+        when(tokenProvider.verify("expired.jwt.token")).thenReturn(Optional.empty());
+
+        // When
+        authService.logout("expired.jwt.token", "refresh-token");
+
+        // Then
+        verify(refreshTokenService).revoke("refresh-token");
+        verifyNoInteractions(tokenRevocationService);
+    }
+
+    @Test
+    void logout_WithoutAnyValidToken_ShouldThrowUnauthorized() {
+        // Given
+        when(tokenProvider.verify(null)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(UnauthorizedException.class, () -> authService.logout(null, null));
+        verifyNoInteractions(tokenRevocationService, refreshTokenService);
+    }
+}
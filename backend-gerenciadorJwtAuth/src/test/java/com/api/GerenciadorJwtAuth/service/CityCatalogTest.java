@@ -0,0 +1,117 @@
+package com.api.GerenciadorJwtAuth.service;
+
+import com.api.GerenciadorJwtAuth.dto.CityDTO;
+import com.api.GerenciadorJwtAuth.repository.CityRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CityCatalogTest {
+
+    @Mock
+    private CityRepository cityRepository;
+
+    private MutableClock clock;
+    private CityCatalog catalog;
+    private final CityDTO recife = new CityDTO(1L, "Recife", "PE", 0L);
+    private final CityDTO olinda = new CityDTO(2L, "Olinda", "PE", 0L);
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        catalog = new CityCatalog(cityRepository, 60_000, clock);
+    }
+
+    @Test
+    void reads_ShouldHitTheDatabaseOnce() {
+        when(cityRepository.findAllDtos()).thenReturn(List.of(recife, olinda));
+
+        assertThat(catalog.getAll()).containsExactly(recife, olinda);
+        assertThat(catalog.find(2L)).contains(olinda);
+        assertThat(catalog.contains(1L)).isTrue();
+        assertThat(catalog.contains(3L)).isFalse();
+        assertThat(catalog.contains(null)).isFalse();
+
+        verify(cityRepository, times(1)).findAllDtos();
+    }
+
+    @Test
+    void snapshot_ShouldBeReloadedAfterTtl() {
+        when(cityRepository.findAllDtos()).thenReturn(List.of(recife)).thenReturn(List.of(recife, olinda));
+
+        assertThat(catalog.contains(2L)).isFalse();
+        clock.advance(Duration.ofSeconds(59));
+        assertThat(catalog.contains(2L)).isFalse();
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(catalog.contains(2L)).isTrue();
+    }
+
+    @Test
+    void invalidateAfterCommit_ShouldWaitForTheCommit() {
+        when(cityRepository.findAllDtos()).thenReturn(List.of(recife)).thenReturn(List.of(recife, olinda));
+        assertThat(catalog.getAll()).hasSize(1);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            catalog.invalidateAfterCommit();
+            assertThat(catalog.getAll()).hasSize(1);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(catalog.getAll()).hasSize(2);
+    }
+
+    @Test
+    void loadRacingWithInvalidation_ShouldNotBeKept() {
+        when(cityRepository.findAllDtos()).thenAnswer(invocation -> {
+            // a city write commits while this (now stale) list is being read
+            catalog.invalidate();
+            return List.of(recife);
+        }).thenReturn(List.of(recife, olinda));
+
+        assertThat(catalog.getAll()).hasSize(1);
+        assertThat(catalog.getAll()).hasSize(2);
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.api.GerenciadorJwtAuth.service;
+
+import com.api.GerenciadorJwtAuth.exception.LoginCapacityExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginExecutorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LoginExecutor loginExecutor;
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // one worker and one queue slot
+        loginExecutor = new LoginExecutor(1, 1, 500, 3, meterRegistry);
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        loginExecutor.shutdown();
+    }
+
+    @Test
+    void verify_ShouldRunOnLoginThreadAndReturnResult() {
+        String thread = loginExecutor.verify(() -> Thread.currentThread().getName());
+
+        assertThat(thread).startsWith("login-verify-");
+    }
+
+    @Test
+    void verify_ShouldRethrowVerificationFailure() {
+        assertThatThrownBy(() -> loginExecutor.verify(() -> {
+            throw new BadCredentialsException("Bad credentials");
+        })).isInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    void verify_WhenQueueIsFull_ShouldRejectImmediately() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture.runAsync(() -> loginExecutor.verify(() -> {
+            started.countDown();
+            return await(release);
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture.runAsync(() -> loginExecutor.verify(() -> await(release)));
+        waitForQueued(1);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> loginExecutor.verify(() -> true))
+                .isInstanceOf(LoginCapacityExceededException.class)
+                .extracting("retryAfterSeconds").isEqualTo(3L);
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(250);
+        assertThat(meterRegistry.get("auth.login.rejected").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void verify_WhenQueueWaitExceedsTimeout_ShouldRejectBeforeVerifying() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture.runAsync(() -> loginExecutor.verify(() -> {
+            started.countDown();
+            return await(release);
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        AtomicBoolean verified = new AtomicBoolean();
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> loginExecutor.verify(() -> verified.getAndSet(true)));
+        waitForQueued(1);
+
+        Thread.sleep(600);
+        release.countDown();
+
+        assertThatThrownBy(() -> queued.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(LoginCapacityExceededException.class);
+        assertThat(verified).isFalse();
+        assertThat(meterRegistry.get("auth.login.rejected").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void verify_WhenVerificationOutlastsTimeout_ShouldLetItFinish() {
+        boolean result = loginExecutor.verify(() -> {
+            sleep(700);
+            return true;
+        });
+
+        assertThat(result).isTrue();
+        assertThat(meterRegistry.get("auth.login.rejected").counter().count()).isZero();
+    }
+
+    private void waitForQueued(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("executor.queued").tag("name", "login").gauge().value() < expected) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
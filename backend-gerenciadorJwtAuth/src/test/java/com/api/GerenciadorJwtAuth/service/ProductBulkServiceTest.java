@@ -0,0 +1,169 @@
+package com.api.GerenciadorJwtAuth.service;
+
+import com.api.GerenciadorJwtAuth.dto.ProductBulkResult;
+import com.api.GerenciadorJwtAuth.dto.ProductDTO;
+import com.api.GerenciadorJwtAuth.exception.ConflictException;
+import com.api.GerenciadorJwtAuth.model.City;
+import com.api.GerenciadorJwtAuth.model.Product;
+import com.api.GerenciadorJwtAuth.model.Role;
+import com.api.GerenciadorJwtAuth.model.User;
+import com.api.GerenciadorJwtAuth.repository.CityRepository;
+import com.api.GerenciadorJwtAuth.repository.ProductRepository;
+import com.api.GerenciadorJwtAuth.repository.UserRepository;
+import com.api.GerenciadorJwtAuth.security.UserPrincipal;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductBulkServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private CityRepository cityRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private ProductBulkService bulkService;
+    private User owner;
+    private City city;
+    private final UserPrincipal principal = new UserPrincipal(1L, "123.456.789-01", Role.USER);
+
+    @BeforeEach
+    void setUp() {
+        bulkService = new ProductBulkService(productRepository, cityRepository, userRepository,
+                Validation.buildDefaultValidatorFactory().getValidator());
+
+        owner = new User();
+        owner.setId(1L);
+        city = new City();
+        city.setId(1L);
+        lenient().when(userRepository.getReferenceById(1L)).thenReturn(owner);
+        lenient().when(cityRepository.getReferenceById(1L)).thenReturn(city);
+    }
+
+    @Test
+    void importProducts_ShouldResolveLookupsOnceAndSaveValidRowsTogether() {
+        when(cityRepository.findExistingIds(Set.of(1L, 99L))).thenReturn(Set.of(1L));
+        when(productRepository.findByProductCodeIn(anyCollection())).thenReturn(Collections.emptyList());
+
+        List<ProductDTO> rows = List.of(
+                row("CODE001", 1L),
+                row("CODE002", 99L),
+                row("CODE001", 1L),
+                row("X", 1L),
+                row("CODE003", 1L));
+
+        ProductBulkResult result = bulkService.importProducts(rows, principal, false);
+
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getUpdated()).isZero();
+        assertThat(result.getErrors()).extracting(ProductBulkResult.RowError::getIndex).containsExactly(1L, 2L, 3L);
+        assertThat(result.getErrors()).extracting(ProductBulkResult.RowError::getMessage).containsExactly(
+                "City not found with id: '99'",
+                "Product code is repeated in this request",
+                "Product code must be between 3 and 20 characters");
+
+        ArgumentCaptor<List<Product>> saved = captor();
+        verify(productRepository).saveAllAndFlush(saved.capture());
+        assertThat(saved.getValue()).extracting(Product::getProductCode).containsExactly("CODE001", "CODE003");
+        assertThat(saved.getValue()).allMatch(product -> product.getUser() == owner && product.getCity() == city);
+        verify(cityRepository, times(1)).findExistingIds(any());
+        verify(productRepository, times(1)).findByProductCodeIn(any());
+        verify(productRepository, never()).existsByProductCode(any());
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    void importProducts_WithExistingCode_ShouldRejectUnlessUpserting() {
+        Product existing = existingProduct("CODE001", owner);
+        when(cityRepository.findExistingIds(Set.of(1L))).thenReturn(Set.of(1L));
+        when(productRepository.findByProductCodeIn(anyCollection())).thenReturn(List.of(existing));
+
+        ProductBulkResult rejected = bulkService.importProducts(List.of(row("CODE001", 1L)), principal, false);
+        ProductBulkResult upserted = bulkService.importProducts(List.of(row("CODE001", 1L)), principal, true);
+
+        assertThat(rejected.getErrors()).extracting(ProductBulkResult.RowError::getMessage)
+                .containsExactly("Product code already exists");
+        assertThat(upserted.getErrors()).isEmpty();
+        assertThat(upserted.getUpdated()).isEqualTo(1);
+        assertThat(existing.getProductName()).isEqualTo("Product CODE001");
+    }
+
+    @Test
+    void importProducts_UpsertOfAnotherUsersProduct_ShouldFailForThatRowOnly() {
+        User otherUser = new User();
+        otherUser.setId(2L);
+        when(cityRepository.findExistingIds(Set.of(1L))).thenReturn(Set.of(1L));
+        when(productRepository.findByProductCodeIn(anyCollection()))
+                .thenReturn(List.of(existingProduct("CODE001", otherUser)));
+
+        ProductBulkResult result = bulkService.importProducts(
+                List.of(row("CODE001", 1L), row("CODE002", 1L)), principal, true);
+
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getUpdated()).isZero();
+        assertThat(result.getErrors()).extracting(ProductBulkResult.RowError::getMessage)
+                .containsExactly("You don't have permission to update this product");
+    }
+
+    @Test
+    void importProducts_WhenACodeIsInsertedConcurrently_ShouldReportAConflict() {
+        when(cityRepository.findExistingIds(Set.of(1L))).thenReturn(Set.of(1L));
+        when(productRepository.findByProductCodeIn(anyCollection())).thenReturn(Collections.emptyList());
+        // the code did not exist at lookup time, another request inserted it before the flush
+        when(productRepository.saveAllAndFlush(anyList()))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry 'CODE001'"));
+
+        assertThatThrownBy(() -> bulkService.importProducts(List.of(row("CODE001", 1L)), principal, false))
+                .isInstanceOf(ConflictException.class);
+    }
+
+    @Test
+    void importProducts_OverTheLimit_ShouldThrowException() {
+        List<ProductDTO> rows = new ArrayList<>(Collections.nCopies(ProductBulkService.MAX_BULK_SIZE + 1, row("CODE001", 1L)));
+
+        assertThatThrownBy(() -> bulkService.importProducts(rows, principal, false))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(productRepository);
+    }
+
+    private ProductDTO row(String code, Long cityId) {
+        return new ProductDTO(null, code, "Product " + code, 10.0, 5, cityId, null, null);
+    }
+
+    private Product existingProduct(String code, User user) {
+        Product product = new Product();
+        product.setId(10L);
+        product.setProductCode(code);
+        product.setProductName("Old name");
+        product.setUser(user);
+        product.setCity(city);
+        return product;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<Product>> captor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+}
@@ -0,0 +1,143 @@
+package com.api.GerenciadorJwtAuth.service;
+
+import com.api.GerenciadorJwtAuth.config.SecondLevelCacheConfig;
+import com.api.GerenciadorJwtAuth.dto.ProductFileFormat;
+import com.api.GerenciadorJwtAuth.model.City;
+import com.api.GerenciadorJwtAuth.model.Product;
+import com.api.GerenciadorJwtAuth.model.Role;
+import com.api.GerenciadorJwtAuth.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exports from the embedded database, so the fetch size, read-only and detach hints are the ones
+ * Hibernate really applies.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import(SecondLevelCacheConfig.class)
+class ProductExportServiceTest {
+
+    private static final int ROWS = 50;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private ProductExportService exportService;
+    private City city;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new ProductExportService(entityManager, new ObjectMapper(), 10);
+
+        city = new City();
+        city.setName("Recife");
+        city.setState("PE");
+        entityManager.persist(city);
+        user = User.builder()
+                .name("Export User")
+                .cpf("123.456.789-01")
+                .password("encoded_password")
+                .role(Role.USER)
+                .build();
+        entityManager.persist(user);
+    }
+
+    @Test
+    void export_Ndjson_ShouldWriteOneLinePerProduct() throws Exception {
+        List<Product> products = persistProducts(2);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = exportService.export(ProductFileFormat.NDJSON, out);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\n")).containsExactly(
+                ndjson(products.get(0)),
+                ndjson(products.get(1)));
+    }
+
+    @Test
+    void export_Csv_ShouldWriteHeaderAndRows() throws Exception {
+        Product product = persistProducts(1).get(0);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.export(ProductFileFormat.CSV, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8).lines().toList()).containsExactly(
+                "id,productCode,productName,productValue,stock,cityId,userId,version",
+                product.getId() + ",P1,\"Product 1\",1.5,1," + city.getId() + "," + user.getId() + ",0");
+    }
+
+    @Test
+    void export_ShouldStreamRowsAndDetachEachOneBeforeTheNext() throws Exception {
+        persistProducts(ROWS);
+        // each row is flushed to the stream as soon as it is written; a query that loaded the
+        // whole result up front, or rows left attached, would show up as managed products here
+        List<Long> managedProductsPerWrite = new ArrayList<>();
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public synchronized void write(byte[] b, int off, int len) {
+                managedProductsPerWrite.add(managedProducts());
+                super.write(b, off, len);
+            }
+        };
+
+        long count = exportService.export(ProductFileFormat.NDJSON, out);
+
+        assertThat(count).isEqualTo(ROWS);
+        assertThat(out.toString(StandardCharsets.UTF_8).lines()).hasSize(ROWS);
+        assertThat(managedProductsPerWrite).hasSizeGreaterThanOrEqualTo(ROWS).containsOnly(0L);
+    }
+
+    private List<Product> persistProducts(int count) {
+        List<Product> products = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            Product product = new Product();
+            product.setProductCode("P" + i);
+            product.setProductName("Product " + i);
+            product.setProductValue(1.5);
+            product.setStock(i);
+            product.setCity(city);
+            product.setUser(user);
+            entityManager.persist(product);
+            products.add(product);
+        }
+        // the export has to read the rows back from the database
+        entityManager.flush();
+        entityManager.clear();
+        return products;
+    }
+
+    private long managedProducts() {
+        return Arrays.stream(entityManager.unwrap(SessionImplementor.class)
+                        .getPersistenceContextInternal()
+                        .reentrantSafeEntityEntries())
+                .filter(entry -> entry.getKey() instanceof Product)
+                .count();
+    }
+
+    private String ndjson(Product product) {
+        return "{\"id\":" + product.getId() + ",\"productCode\":\"" + product.getProductCode() + "\"," +
+                "\"productName\":\"" + product.getProductName() + "\",\"productValue\":1.5," +
+                "\"stock\":" + product.getStock() + ",\"cityId\":" + city.getId() + "," +
+                "\"userId\":" + user.getId() + ",\"version\":0}";
+    }
+}
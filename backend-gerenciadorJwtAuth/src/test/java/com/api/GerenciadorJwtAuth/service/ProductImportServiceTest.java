@@ -0,0 +1,259 @@
+package com.api.GerenciadorJwtAuth.service;
+
+import com.api.GerenciadorJwtAuth.dto.ProductBulkResult;
+import com.api.GerenciadorJwtAuth.dto.ProductDTO;
+import com.api.GerenciadorJwtAuth.dto.ProductFileFormat;
+import com.api.GerenciadorJwtAuth.dto.ProductImportStatus;
+import com.api.GerenciadorJwtAuth.exception.InvalidImportFileException;
+import com.api.GerenciadorJwtAuth.exception.ResourceNotFoundException;
+import com.api.GerenciadorJwtAuth.model.Role;
+import com.api.GerenciadorJwtAuth.security.UserPrincipal;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.std.DelegatingDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductImportServiceTest {
+
+    private static final int BATCH_SIZE = 100;
+    private static final int QUEUE_CAPACITY = 2;
+
+    @Mock
+    private ProductBulkService productBulkService;
+
+    private final AtomicLong parsed = new AtomicLong();
+    private final AtomicLong nanos = new AtomicLong();
+    private ProductImportService importService;
+    private final UserPrincipal principal = new UserPrincipal(1L, "123.456.789-01", Role.USER);
+
+    @BeforeEach
+    void setUp() {
+        importService = new ProductImportService(productBulkService, countingMapper(parsed), BATCH_SIZE, QUEUE_CAPACITY, nanos::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        importService.shutdown();
+    }
+
+    @Test
+    void importProducts_LargeNdjsonStream_ShouldWriteFixedBatchesWithBoundedReadAhead() throws Exception {
+        int rows = 20_000;
+        AtomicLong written = new AtomicLong();
+        AtomicLong maxReadAhead = new AtomicLong();
+        when(productBulkService.importProducts(anyList(), eq(principal), eq(false))).thenAnswer(invocation -> {
+            List<ProductDTO> batch = invocation.getArgument(0);
+            maxReadAhead.accumulateAndGet(parsed.get() - written.get(), Math::max);
+            Thread.sleep(1);
+            written.addAndGet(batch.size());
+            return new ProductBulkResult(batch.size(), 0, new ArrayList<>());
+        });
+
+        ProductImportStatus status = awaitFinished(importService.importProducts(
+                ndjsonRows(rows, new AtomicLong()), ProductFileFormat.NDJSON, principal, false));
+
+        assertThat(status.getState()).isEqualTo(ProductImportStatus.State.COMPLETED);
+        assertThat(status.getRowsRead()).isEqualTo(rows);
+        assertThat(status.getCreated()).isEqualTo(rows);
+        assertThat(status.getRowsPerSecond()).isPositive();
+        verify(productBulkService, times(rows / BATCH_SIZE)).importProducts(anyList(), eq(principal), eq(false));
+        // queued batches + the one being written + the one being filled
+        assertThat(maxReadAhead.get()).isLessThanOrEqualTo((QUEUE_CAPACITY + 2L) * BATCH_SIZE);
+    }
+
+    @Test
+    void importProducts_ShouldReturnRunningJobBeforeRowsAreWritten() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(productBulkService.importProducts(anyList(), eq(principal), eq(false))).thenAnswer(invocation -> {
+            release.await();
+            List<ProductDTO> batch = invocation.getArgument(0);
+            return new ProductBulkResult(batch.size(), 0, new ArrayList<>());
+        });
+
+        ProductImportStatus status = importService.importProducts(
+                ndjsonRows(3, new AtomicLong()), ProductFileFormat.NDJSON, principal, false);
+
+        assertThat(status.getState()).isEqualTo(ProductImportStatus.State.RUNNING);
+        assertThat(importService.getJob(status.getId(), principal).getState()).isEqualTo(ProductImportStatus.State.RUNNING);
+        release.countDown();
+        assertThat(awaitFinished(status).getCreated()).isEqualTo(3);
+    }
+
+    @Test
+    void getJob_ShouldKeepRunningJobsAndExpireFinishedOnes() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(productBulkService.importProducts(anyList(), eq(principal), eq(false))).thenAnswer(invocation -> {
+            release.await();
+            return new ProductBulkResult(1, 0, new ArrayList<>());
+        });
+        ProductImportStatus status = importService.importProducts(
+                ndjsonRows(1, new AtomicLong()), ProductFileFormat.NDJSON, principal, false);
+
+        nanos.addAndGet(Duration.ofDays(1).toNanos());
+        assertThat(importService.getJob(status.getId(), principal).getState()).isEqualTo(ProductImportStatus.State.RUNNING);
+
+        release.countDown();
+        awaitFinished(status);
+        nanos.addAndGet(Duration.ofMinutes(59).toNanos());
+        assertThat(importService.getJob(status.getId(), principal).getState()).isEqualTo(ProductImportStatus.State.COMPLETED);
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+        assertThatThrownBy(() -> importService.getJob(status.getId(), principal))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void importProducts_CsvWithUnbindableRow_ShouldReportRowAndContinue() throws Exception {
+        when(productBulkService.importProducts(anyList(), eq(principal), eq(true))).thenAnswer(invocation -> {
+            List<ProductDTO> batch = invocation.getArgument(0);
+            return new ProductBulkResult(0, batch.size(), new ArrayList<>(
+                    List.of(new ProductBulkResult.RowError(1, batch.get(1).getProductCode(), "City not found with id: '9'"))));
+        });
+        String csv = "productCode,productName,productValue,stock,cityId\n" +
+                "CODE001,First,1.5,3,1\n" +
+                "CODE002,Second,2.5,not-a-number,1\n" +
+                "CODE003,Third,3.5,4,9\n";
+
+        ProductImportStatus status = awaitFinished(importService.importProducts(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ProductFileFormat.CSV, principal, true));
+
+        assertThat(status.getState()).isEqualTo(ProductImportStatus.State.COMPLETED);
+        assertThat(status.getRowsRead()).isEqualTo(3);
+        assertThat(status.getUpdated()).isEqualTo(2);
+        assertThat(status.getFailed()).isEqualTo(2);
+        assertThat(status.getErrors()).extracting(ProductBulkResult.RowError::getIndex).containsExactly(1L, 2L);
+        assertThat(status.getErrors().get(1).getProductCode()).isEqualTo("CODE003");
+    }
+
+    @Test
+    void importProducts_MalformedJson_ShouldFailJob() throws Exception {
+        String body = "{\"productCode\":\"CODE001\"}\n{\"productCode\":";
+
+        ProductImportStatus status = awaitFinished(importService.importProducts(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), ProductFileFormat.NDJSON, principal, false));
+
+        assertThat(status.getState()).isEqualTo(ProductImportStatus.State.FAILED);
+        assertThat(status.getMessage()).startsWith("Reading failed");
+    }
+
+    @Test
+    void importProducts_NotJson_ShouldThrowWithoutRegisteringJob() {
+        InputStream body = new ByteArrayInputStream("<html>".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> importService.importProducts(body, ProductFileFormat.NDJSON, principal, false))
+                .isInstanceOf(InvalidImportFileException.class)
+                .hasMessageStartingWith("Reading failed");
+        assertThat(importService.getJobs(principal)).isEmpty();
+        verifyNoInteractions(productBulkService);
+    }
+
+    @Test
+    void getJob_OfAnotherUser_ShouldThrowException() throws Exception {
+        ProductImportStatus status = awaitFinished(importService.importProducts(
+                new ByteArrayInputStream(new byte[0]), ProductFileFormat.NDJSON, principal, false));
+        UserPrincipal otherUser = new UserPrincipal(2L, "987.654.321-09", Role.USER);
+        UserPrincipal admin = new UserPrincipal(3L, "111.222.333-44", Role.ADMIN);
+
+        assertThatThrownBy(() -> importService.getJob(status.getId(), otherUser))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(importService.getJobs(otherUser)).isEmpty();
+        assertThat(importService.getJob(status.getId(), admin).getState()).isEqualTo(ProductImportStatus.State.COMPLETED);
+        verifyNoInteractions(productBulkService);
+    }
+
+    private ProductImportStatus awaitFinished(ProductImportStatus started) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        ProductImportStatus status = importService.getJob(started.getId(), principal);
+        while (status.getState() == ProductImportStatus.State.RUNNING && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            status = importService.getJob(started.getId(), principal);
+        }
+        return status;
+    }
+
+    // the upload is copied in full before parsing starts, so read-ahead is counted in parsed rows
+    private static ObjectMapper countingMapper(AtomicLong parsed) {
+        SimpleModule module = new SimpleModule();
+        module.setDeserializerModifier(new BeanDeserializerModifier() {
+            @Override
+            public JsonDeserializer<?> modifyDeserializer(DeserializationConfig config, BeanDescription description,
+                                                          JsonDeserializer<?> deserializer) {
+                return description.getBeanClass() == ProductDTO.class
+                        ? new CountingDeserializer(deserializer, parsed)
+                        : deserializer;
+            }
+        });
+        return new ObjectMapper().registerModule(module);
+    }
+
+    private static InputStream ndjsonRows(int count, AtomicLong produced) {
+        return new InputStream() {
+            private byte[] line = new byte[0];
+            private int position;
+
+            @Override
+            public int read() {
+                if (position == line.length) {
+                    long next = produced.get();
+                    if (next == count) {
+                        return -1;
+                    }
+                    line = ("{\"productCode\":\"CODE" + next + "\",\"productName\":\"Product " + next +
+                            "\",\"productValue\":1.5,\"stock\":1,\"cityId\":1}\n").getBytes(StandardCharsets.UTF_8);
+                    position = 0;
+                    produced.incrementAndGet();
+                }
+                return line[position++];
+            }
+        };
+    }
+
+    private static final class CountingDeserializer extends DelegatingDeserializer {
+        private final AtomicLong parsed;
+
+        CountingDeserializer(JsonDeserializer<?> delegate, AtomicLong parsed) {
+            super(delegate);
+            this.parsed = parsed;
+        }
+
+        @Override
+        protected JsonDeserializer<?> newDelegatingInstance(JsonDeserializer<?> newDelegatee) {
+            return new CountingDeserializer(newDelegatee, parsed);
+        }
+
+        @Override
+        public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            Object value = super.deserialize(p, ctxt);
+            parsed.incrementAndGet();
+            return value;
+        }
+    }
+}
@@ -4,11 +4,17 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
+import com.api.GerenciadorJwtAuth.dto.CursorPage;
+import com.api.GerenciadorJwtAuth.dto.ProductCursor;
 import com.api.GerenciadorJwtAuth.dto.ProductDTO;
+import com.api.GerenciadorJwtAuth.dto.ProductFilter;
+import com.api.GerenciadorJwtAuth.exception.InvalidCursorException;
+import com.api.GerenciadorJwtAuth.exception.PreconditionFailedException;
 import com.api.GerenciadorJwtAuth.exception.ResourceNotFoundException;
 import com.api.GerenciadorJwtAuth.exception.UnauthorizedException;
 import com.api.GerenciadorJwtAuth.model.City;
@@ -24,6 +30,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 @ExtendWith(MockitoExtension.class)
 public class ProductServiceTest {
@@ -37,6 +49,9 @@ public class ProductServiceTest {
     @Mock
     private CityRepository cityRepository;
 
+    @Mock
+    private CityCatalog cityCatalog;
+
     @InjectMocks
     private ProductService productService;
 
@@ -74,30 +89,100 @@ public class ProductServiceTest {
     }
 
     @Test
-    void getAllProducts_ShouldReturnListOfProducts() {
-        when(productRepository.findAll()).thenReturn(Collections.singletonList(product));
+    void getAllProducts_ShouldReturnPageOfProducts() {
+        Pageable pageable = PageRequest.of(0, 20);
+        when(productRepository.search(null, null, null, null, null, null, null, pageable))
+                .thenReturn(new PageImpl<>(Collections.singletonList(productDTO), pageable, 1));
+
+        Page<ProductDTO> result = productService.getAllProducts(new ProductFilter(), pageable);
+
+        assertEquals(1, result.getTotalElements());
+        assertEquals("CODE123", result.getContent().get(0).getProductCode());
+    }
+
+    @Test
+    void getAllProducts_WithFilterAndOversizedPage_ShouldCapPageSize() {
+        ProductFilter filter = new ProductFilter();
+        filter.setCityId(1L);
+        filter.setCodePrefix("CO");
+        Pageable capped = PageRequest.of(2, ProductService.MAX_PAGE_SIZE, Sort.by("productName"));
+        when(productRepository.search(1L, null, "CO", null, null, null, null, capped))
+                .thenReturn(new PageImpl<>(Collections.emptyList(), capped, 0));
+
+        productService.getAllProducts(filter, PageRequest.of(2, 10_000, Sort.by("name")));
+
+        verify(productRepository).search(1L, null, "CO", null, null, null, null, capped);
+    }
+
+    @Test
+    void getAllProducts_ShouldMapSortKeysToProperties() {
+        Pageable mapped = PageRequest.of(0, 20, Sort.by(Sort.Order.desc("productValue"), Sort.Order.asc("updatedAt")));
+        when(productRepository.search(null, null, null, null, null, null, null, mapped))
+                .thenReturn(new PageImpl<>(Collections.emptyList(), mapped, 0));
+
+        productService.getAllProducts(new ProductFilter(),
+                PageRequest.of(0, 20, Sort.by(Sort.Order.desc("price"), Sort.Order.asc("updatedAt"))));
+
+        verify(productRepository).search(null, null, null, null, null, null, null, mapped);
+    }
+
+    @Test
+    void getAllProducts_WithSortOutsideAllowList_ShouldThrowException() {
+        for (String property : List.of("user.password", "user.cpf", "productCode", "productName")) {
+            assertThrows(IllegalArgumentException.class, () -> productService.getAllProducts(
+                    new ProductFilter(), PageRequest.of(0, 20, Sort.by(property))));
+        }
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void scrollProducts_WhenMoreRowsExist_ShouldReturnNextCursor() {
+        Product second = productWithId(2L);
+        when(productRepository.findByOrderByIdAsc(Limit.of(2)))
+                .thenReturn(List.of(product, second));
+
+        CursorPage<ProductDTO> page = productService.scrollProducts(null, ProductCursor.Order.ID, 1);
+
+        assertEquals(1, page.getContent().size());
+        assertEquals(1L, page.getContent().get(0).getId());
+        assertEquals(new ProductCursor(ProductCursor.Order.ID, null, 1L), ProductCursor.decode(page.getNextCursor()));
+    }
+
+    @Test
+    void scrollProducts_WithUpdatedAtCursor_ShouldSeekPastLastRow() {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 1, 2, 3, 4, 5, 123_456_000);
+        String cursor = new ProductCursor(ProductCursor.Order.UPDATED_AT, updatedAt, 1L).encode();
+        when(productRepository.findAfterUpdatedAt(updatedAt, 1L, Limit.of(21)))
+                .thenReturn(List.of(productWithId(2L)));
 
-        List<ProductDTO> result = productService.getAllProducts();
+        CursorPage<ProductDTO> page = productService.scrollProducts(cursor, ProductCursor.Order.ID, 20);
 
-        assertEquals(1, result.size());
-        assertEquals("CODE123", result.get(0).getProductCode());
-        verify(productRepository).findAll();
+        assertEquals(1, page.getContent().size());
+        assertNull(page.getNextCursor());
+        verify(productRepository, never()).findByIdGreaterThanOrderByIdAsc(any(), any());
+    }
+
+    @Test
+    void scrollProducts_WithTamperedCursor_ShouldThrowException() {
+        assertThrows(InvalidCursorException.class,
+                () -> productService.scrollProducts("not-a-cursor", ProductCursor.Order.ID, 20));
     }
 
     @Test
     void getProductById_WhenExists_ShouldReturnProductDTO() {
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.findDtoById(1L)).thenReturn(Optional.of(productDTO));
 
         ProductDTO result = productService.getProductById(1L);
 
         assertNotNull(result);
         assertEquals("Test Product", result.getProductName());
-        verify(productRepository).findById(1L);
+        verify(productRepository).findDtoById(1L);
+        verify(productRepository, never()).findById(any());
     }
 
     @Test
     void getProductById_WhenNotExists_ShouldThrowException() {
-        when(productRepository.findById(1L)).thenReturn(Optional.empty());
+        when(productRepository.findDtoById(1L)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () ->
                 productService.getProductById(1L));
@@ -124,17 +209,19 @@ public class ProductServiceTest {
     void createProduct_WhenCityNotFound_ShouldThrowException() {
         when(productRepository.existsByProductCode("CODE123")).thenReturn(false);
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(cityRepository.findById(1L)).thenReturn(Optional.empty());
+        when(cityCatalog.contains(1L)).thenReturn(false);
 
         assertThrows(ResourceNotFoundException.class, () ->
                 productService.createProduct(productDTO, 1L));
+        verify(cityRepository, never()).getReferenceById(any());
     }
 
     @Test
     void createProduct_WithValidData_ShouldReturnCreatedProduct() {
         when(productRepository.existsByProductCode("CODE123")).thenReturn(false);
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(cityRepository.findById(1L)).thenReturn(Optional.of(city));
+        when(cityCatalog.contains(1L)).thenReturn(true);
+        when(cityRepository.getReferenceById(1L)).thenReturn(city);
         when(productRepository.save(any(Product.class))).thenReturn(product);
 
         ProductDTO result = productService.createProduct(productDTO, 1L);
@@ -154,7 +241,7 @@ public class ProductServiceTest {
         when(userRepository.findById(2L)).thenReturn(Optional.of(otherUser));
 
         assertThrows(UnauthorizedException.class, () ->
-                productService.updateProduct(1L, productDTO, 2L));
+                productService.updateProduct(1L, productDTO, 2L, null));
     }
 
     @Test
@@ -165,13 +252,24 @@ public class ProductServiceTest {
 
         when(productRepository.findById(1L)).thenReturn(Optional.of(product));
         when(userRepository.findById(2L)).thenReturn(Optional.of(adminUser));
-        when(cityRepository.findById(1L)).thenReturn(Optional.of(city));
-        when(productRepository.save(any(Product.class))).thenReturn(product);
+        when(cityCatalog.contains(1L)).thenReturn(true);
+        when(cityRepository.getReferenceById(1L)).thenReturn(city);
+        when(productRepository.saveAndFlush(any(Product.class))).thenReturn(product);
 
-        ProductDTO result = productService.updateProduct(1L, productDTO, 2L);
+        ProductDTO result = productService.updateProduct(1L, productDTO, 2L, null);
 
         assertNotNull(result);
-        verify(productRepository).save(any(Product.class));
+        verify(productRepository).saveAndFlush(any(Product.class));
+    }
+
+    @Test
+    void updateProduct_WhenVersionIsStale_ShouldThrowPreconditionFailed() {
+        product.setVersion(5L);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+
+        assertThrows(PreconditionFailedException.class, () ->
+                productService.updateProduct(1L, productDTO, 1L, 4L));
+        verify(productRepository, never()).saveAndFlush(any(Product.class));
     }
 
     @Test
@@ -183,7 +281,7 @@ public class ProductServiceTest {
         when(productRepository.existsByProductCode("NEWCODE")).thenReturn(true);
 
         assertThrows(IllegalArgumentException.class, () ->
-                productService.updateProduct(1L, newProductDTO, 1L));
+                productService.updateProduct(1L, newProductDTO, 1L, null));
     }
 
     @Test
@@ -196,16 +294,16 @@ public class ProductServiceTest {
         when(userRepository.findById(2L)).thenReturn(Optional.of(otherUser));
 
         assertThrows(UnauthorizedException.class, () ->
-                productService.deleteProduct(1L, 2L));
+                productService.deleteProduct(1L, 2L, null));
     }
 
     @Test
     void deleteProduct_WhenAuthorized_ShouldDeleteProduct() {
         when(productRepository.findById(1L)).thenReturn(Optional.of(product));
 
-        productService.deleteProduct(1L, 1L);
+        productService.deleteProduct(1L, 1L, null);
 
-        verify(productRepository).deleteById(1L);
+        verify(productRepository).delete(product);
     }
 
     @Test
@@ -217,8 +315,17 @@ public class ProductServiceTest {
         when(productRepository.findById(1L)).thenReturn(Optional.of(product));
         when(userRepository.findById(2L)).thenReturn(Optional.of(adminUser));
 
-        productService.deleteProduct(1L, 2L);
+        productService.deleteProduct(1L, 2L, null);
+
+        verify(productRepository).delete(product);
+    }
 
-        verify(productRepository).deleteById(1L);
+    private Product productWithId(Long id) {
+        Product other = new Product();
+        other.setId(id);
+        other.setProductCode("CODE" + id);
+        other.setUser(user);
+        other.setCity(city);
+        return other;
     }
 }
\ No newline at end of file
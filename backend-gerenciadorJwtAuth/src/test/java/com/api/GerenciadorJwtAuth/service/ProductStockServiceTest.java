@@ -0,0 +1,124 @@
+package com.api.GerenciadorJwtAuth.service;
+
+import com.api.GerenciadorJwtAuth.dto.StockAdjustment;
+import com.api.GerenciadorJwtAuth.dto.StockAdjustmentResult;
+import com.api.GerenciadorJwtAuth.exception.ResourceNotFoundException;
+import com.api.GerenciadorJwtAuth.exception.UnauthorizedException;
+import com.api.GerenciadorJwtAuth.model.Role;
+import com.api.GerenciadorJwtAuth.repository.ProductStockRepository;
+import com.api.GerenciadorJwtAuth.security.UserPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductStockServiceTest {
+
+    @Mock
+    private ProductStockRepository productStockRepository;
+
+    private ProductStockService stockService;
+    private final UserPrincipal user = new UserPrincipal(1L, "123.456.789-01", Role.USER);
+    private final UserPrincipal admin = new UserPrincipal(2L, "987.654.321-09", Role.ADMIN);
+
+    @BeforeEach
+    void setUp() {
+        stockService = new ProductStockService(productStockRepository);
+    }
+
+    @Test
+    void adjustStock_WhenApplied_ShouldNotLookAnythingUp() {
+        when(productStockRepository.applyDeltas(List.of(new StockAdjustment(10L, -3)), 1L)).thenReturn(new int[]{1});
+
+        stockService.adjustStock(10L, -3, user);
+
+        verify(productStockRepository, never()).findOwnerIds(anyCollection());
+    }
+
+    @Test
+    void adjustStock_AsAdmin_ShouldSkipOwnershipFilter() {
+        when(productStockRepository.applyDeltas(anyList(), isNull())).thenReturn(new int[]{1});
+
+        stockService.adjustStock(10L, 5, admin);
+
+        verify(productStockRepository).applyDeltas(List.of(new StockAdjustment(10L, 5)), null);
+    }
+
+    @Test
+    void adjustStock_WhenNothingMatched_ShouldExplainWhy() {
+        when(productStockRepository.applyDeltas(anyList(), eq(1L))).thenReturn(new int[]{0});
+        when(productStockRepository.findOwnerIds(Set.of(10L))).thenReturn(Map.of());
+        when(productStockRepository.findOwnerIds(Set.of(11L))).thenReturn(Map.of(11L, 2L));
+        when(productStockRepository.findOwnerIds(Set.of(12L))).thenReturn(Map.of(12L, 1L));
+
+        assertThatThrownBy(() -> stockService.adjustStock(10L, 1, user)).isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> stockService.adjustStock(11L, 1, user)).isInstanceOf(UnauthorizedException.class);
+        assertThatThrownBy(() -> stockService.adjustStock(12L, -100, user))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Insufficient stock for product with id: 12");
+    }
+
+    @Test
+    void adjustStocks_ShouldSendOneBatchAndReportRejectedRows() {
+        List<StockAdjustment> adjustments = Arrays.asList(
+                new StockAdjustment(10L, 5),
+                new StockAdjustment(null, 1),
+                new StockAdjustment(11L, -50),
+                new StockAdjustment(12L, 1),
+                new StockAdjustment(13L, null),
+                new StockAdjustment(14L, 2));
+        when(productStockRepository.applyDeltas(anyList(), eq(1L))).thenReturn(new int[]{1, 0, 0, 1});
+        when(productStockRepository.findOwnerIds(Set.of(11L, 12L))).thenReturn(Map.of(11L, 1L));
+
+        StockAdjustmentResult result = stockService.adjustStocks(adjustments, user);
+
+        verify(productStockRepository).applyDeltas(List.of(
+                new StockAdjustment(10L, 5),
+                new StockAdjustment(11L, -50),
+                new StockAdjustment(12L, 1),
+                new StockAdjustment(14L, 2)), 1L);
+        assertThat(result.getUpdated()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(StockAdjustmentResult.RowError::getIndex).containsExactly(1, 2, 3, 4);
+        assertThat(result.getErrors()).extracting(StockAdjustmentResult.RowError::getMessage).containsExactly(
+                "Product ID is required",
+                "Insufficient stock",
+                "Product not found",
+                "Delta is required");
+    }
+
+    @Test
+    void adjustStocks_WhenStockWouldOverflow_ShouldReportOnlyThatRow() {
+        List<StockAdjustment> adjustments = List.of(
+                new StockAdjustment(10L, Integer.MAX_VALUE),
+                new StockAdjustment(11L, 1));
+        when(productStockRepository.applyDeltas(adjustments, 1L)).thenReturn(new int[]{0, 1});
+        when(productStockRepository.findOwnerIds(Set.of(10L))).thenReturn(Map.of(10L, 1L));
+
+        StockAdjustmentResult result = stockService.adjustStocks(adjustments, user);
+
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting(StockAdjustmentResult.RowError::getMessage)
+                .containsExactly("Stock would exceed the maximum of " + Integer.MAX_VALUE);
+    }
+
+    @Test
+    void adjustStocks_TooManyAdjustments_ShouldBeRejected() {
+        List<StockAdjustment> adjustments = Collections.nCopies(ProductStockService.MAX_BATCH_SIZE + 1, new StockAdjustment(1L, 1));
+
+        assertThatThrownBy(() -> stockService.adjustStocks(adjustments, user)).isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(productStockRepository);
+    }
+}
@@ -0,0 +1,138 @@
+package com.api.GerenciadorJwtAuth.service;
+
+import com.api.GerenciadorJwtAuth.exception.UnauthorizedException;
+import com.api.GerenciadorJwtAuth.model.RefreshToken;
+import com.api.GerenciadorJwtAuth.model.Role;
+import com.api.GerenciadorJwtAuth.model.User;
+import com.api.GerenciadorJwtAuth.repository.RefreshTokenRepository;
+import com.api.GerenciadorJwtAuth.security.TokenDigests;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private RefreshTokenService refreshTokenService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, Duration.ofDays(14).toMillis(),
+                Clock.fixed(NOW, ZoneOffset.UTC));
+        user = User.builder()
+                .id(1L)
+                .name("Test User")
+                .cpf("123.456.789-01")
+                .role(Role.USER)
+                .build();
+    }
+
+    @Test
+    void issue_ShouldStoreOnlyTheHashOfTheToken() {
+        String token = refreshTokenService.issue(user);
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertThat(saved.getValue().getTokenHash())
+                .isEqualTo(TokenDigests.sha256Hex(token))
+                .isNotEqualTo(token)
+                .hasSize(64);
+        assertThat(saved.getValue().getUser()).isSameAs(user);
+        assertThat(saved.getValue().getExpiresAt()).isEqualTo(NOW.plus(Duration.ofDays(14)));
+        assertThat(saved.getValue().getRevokedAt()).isNull();
+        assertThat(refreshTokenService.issue(user)).isNotEqualTo(token);
+    }
+
+    @Test
+    void rotate_ShouldRevokeTheTokenAndIssueANewOneInTheSameFamily() {
+        RefreshToken current = stored("old-token", NOW.plusSeconds(60), null);
+        when(refreshTokenRepository.findByTokenHash(TokenDigests.sha256Hex("old-token"))).thenReturn(Optional.of(current));
+        when(refreshTokenRepository.revoke(10L, NOW)).thenReturn(1);
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate("old-token");
+
+        assertThat(rotation.user()).isSameAs(user);
+        assertThat(rotation.refreshToken()).isNotEqualTo("old-token");
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertThat(saved.getValue().getFamily()).isEqualTo("family-1");
+        assertThat(saved.getValue().getTokenHash()).isEqualTo(TokenDigests.sha256Hex(rotation.refreshToken()));
+        verify(refreshTokenRepository, never()).revokeFamily(any(), any());
+    }
+
+    @Test
+    void rotate_WithUnknownToken_ShouldThrowUnauthorized() {
+        when(refreshTokenRepository.findByTokenHash(any())).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> refreshTokenService.rotate("unknown"))
+                .isInstanceOf(UnauthorizedException.class);
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void rotate_WithExpiredToken_ShouldThrowUnauthorized() {
+        RefreshToken current = stored("old-token", NOW, null);
+        when(refreshTokenRepository.findByTokenHash(any())).thenReturn(Optional.of(current));
+
+        assertThatThrownBy(() -> refreshTokenService.rotate("old-token"))
+                .isInstanceOf(UnauthorizedException.class)
+                .hasMessageContaining("expired");
+        verify(refreshTokenRepository, never()).revoke(any(), any());
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void rotate_WithReusedToken_ShouldRevokeTheWholeFamily() {
+        RefreshToken current = stored("old-token", NOW.plusSeconds(60), NOW.minusSeconds(5));
+        when(refreshTokenRepository.findByTokenHash(any())).thenReturn(Optional.of(current));
+
+        assertThatThrownBy(() -> refreshTokenService.rotate("old-token"))
+                .isInstanceOf(UnauthorizedException.class)
+                .hasMessageContaining("already been used");
+        verify(refreshTokenRepository).revokeFamily("family-1", NOW);
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void rotate_WhenAConcurrentRefreshWins_ShouldRevokeTheWholeFamily() {
+        RefreshToken current = stored("old-token", NOW.plusSeconds(60), null);
+        when(refreshTokenRepository.findByTokenHash(any())).thenReturn(Optional.of(current));
+        when(refreshTokenRepository.revoke(10L, NOW)).thenReturn(0);
+
+        assertThatThrownBy(() -> refreshTokenService.rotate("old-token"))
+                .isInstanceOf(UnauthorizedException.class);
+        verify(refreshTokenRepository).revokeFamily("family-1", NOW);
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    private RefreshToken stored(String token, Instant expiresAt, Instant revokedAt) {
+        return RefreshToken.builder()
+                .id(10L)
+                .tokenHash(TokenDigests.sha256Hex(token))
+                .family("family-1")
+                .user(user)
+                .expiresAt(expiresAt)
+                .revokedAt(revokedAt)
+                .build();
+    }
+}
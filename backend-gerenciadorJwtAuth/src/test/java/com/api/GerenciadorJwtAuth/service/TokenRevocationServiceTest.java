@@ -0,0 +1,108 @@
+package com.api.GerenciadorJwtAuth.service;
+
+import com.api.GerenciadorJwtAuth.model.RevokedToken;
+import com.api.GerenciadorJwtAuth.model.Role;
+import com.api.GerenciadorJwtAuth.repository.RevokedTokenRepository;
+import com.api.GerenciadorJwtAuth.security.TokenRevocationList;
+import com.api.GerenciadorJwtAuth.security.VerifiedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private TokenRevocationList revocationList;
+    private TokenRevocationService revocationService;
+
+    @BeforeEach
+    void setUp() {
+        revocationList = new TokenRevocationList(100, 0.01, new SimpleMeterRegistry());
+        revocationService = new TokenRevocationService(revokedTokenRepository, revocationList, 900_000,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void revoke_ShouldPersistUntilTheTokenExpiresAndApplyImmediately() {
+        VerifiedToken token = token(1L, "token-1", NOW.plusSeconds(300));
+
+        revocationService.revoke(token);
+
+        verify(revokedTokenRepository).save(new RevokedToken("token-1", NOW.plusSeconds(300)));
+        assertThat(revocationList.isRevoked(token)).isTrue();
+    }
+
+    @Test
+    void revoke_WithoutTokenId_ShouldDoNothing() {
+        revocationService.revoke(token(1L, null, NOW.plusSeconds(300)));
+
+        verifyNoInteractions(revokedTokenRepository);
+    }
+
+    @Test
+    void revokeUser_ShouldCoverTheLongestAccessTokenLifetime() {
+        revocationService.revokeUser(1L);
+
+        verify(revokedTokenRepository).save(new RevokedToken("user:1", NOW.plusSeconds(900)));
+        assertThat(revocationList.isRevoked(token(1L, "any-token", NOW.plusSeconds(60)))).isTrue();
+    }
+
+    @Test
+    void reload_ShouldPurgeExpiredRowsAndRebuildFromTheTable() {
+        revocationList.add("token-1");
+        when(revokedTokenRepository.findActiveTokenIds(NOW)).thenReturn(List.of("token-2"));
+
+        revocationService.reload();
+
+        verify(revokedTokenRepository).deleteExpired(NOW);
+        assertThat(revocationList.isRevoked(token(1L, "token-1", NOW.plusSeconds(60)))).isFalse();
+        assertThat(revocationList.isRevoked(token(1L, "token-2", NOW.plusSeconds(60)))).isTrue();
+        verify(revokedTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void revoke_ShouldNotWaitForAReloadReadingTheTable() throws Exception {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(revokedTokenRepository.findActiveTokenIds(NOW)).thenAnswer(invocation -> {
+            reading.countDown();
+            assertThat(release.await(5, TimeUnit.SECONDS)).isTrue();
+            // the read started before the revocation was written
+            return List.of();
+        });
+        CompletableFuture<Void> reload = CompletableFuture.runAsync(revocationService::reload);
+        assertThat(reading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        VerifiedToken token = token(1L, "token-1", NOW.plusSeconds(300));
+        CompletableFuture.runAsync(() -> revocationService.revoke(token)).get(5, TimeUnit.SECONDS);
+        release.countDown();
+        reload.get(5, TimeUnit.SECONDS);
+
+        assertThat(revocationList.isRevoked(token)).isTrue();
+    }
+
+    private static VerifiedToken token(Long userId, String tokenId, Instant expiresAt) {
+        return new VerifiedToken("123.456.789-01", userId, Role.USER, Date.from(expiresAt), tokenId, 0L);
+    }
+}
@@ -6,6 +6,8 @@ import com.api.GerenciadorJwtAuth.exception.ResourceNotFoundException;
 import com.api.GerenciadorJwtAuth.model.Role;
 import com.api.GerenciadorJwtAuth.model.User;
 import com.api.GerenciadorJwtAuth.repository.UserRepository;
+import com.api.GerenciadorJwtAuth.security.TokenVersionRegistry;
+import com.api.GerenciadorJwtAuth.security.UserDetailsServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -32,6 +34,18 @@ public class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private TokenVersionRegistry tokenVersionRegistry;
+
     @InjectMocks
     private UserService userService;
 
@@ -68,7 +82,7 @@ public class UserServiceTest {
     @Test
     void getAllUsers_ShouldReturnAllUsers() {
         // Given
-        when(userRepository.findAll()).thenReturn(Arrays.asList(user1, user2));
+        when(userRepository.findAllDtos()).thenReturn(Arrays.asList(toDTO(user1), toDTO(user2)));
 
         // When
         List<UserDTO> result = userService.getAllUsers();
@@ -78,12 +92,12 @@ public class UserServiceTest {
         assertThat(result.size()).isEqualTo(2);
         assertThat(result.get(0).getName()).isEqualTo("Test User");
         assertThat(result.get(1).getName()).isEqualTo("Admin User");
-        verify(userRepository, times(1)).findAll();
+        verify(userRepository, times(1)).findAllDtos();
     }
 
     @Test
     void getUserById_WithValidId_ShouldReturnUser() {
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user1));
+        when(userRepository.findDtoById(1L)).thenReturn(Optional.of(toDTO(user1)));
 
         UserDTO result = userService.getUserById(1L);
 
@@ -92,19 +106,19 @@ public class UserServiceTest {
         assertThat(result.getName()).isEqualTo("Test User");
         assertThat(result.getCpf()).isEqualTo("123.456.789-01");
         assertThat(result.getRole()).isEqualTo(Role.USER);
-        verify(userRepository, times(1)).findById(1L);
+        verify(userRepository, times(1)).findDtoById(1L);
     }
 
     @Test
     void getUserById_WithInvalidId_ShouldThrowException() {
         // Given
-        when(userRepository.findById(999L)).thenReturn(Optional.empty());
+        when(userRepository.findDtoById(999L)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(ResourceNotFoundException.class, () -> {
             userService.getUserById(999L);
         });
-        verify(userRepository, times(1)).findById(999L);
+        verify(userRepository, times(1)).findDtoById(999L);
     }
 
     @Test
@@ -172,7 +186,7 @@ public class UserServiceTest {
                 .build();
 
         // When
-        UserDTO result = userService.updateUser(1L, updateDTO);
+        UserDTO result = userService.updateUser(1L, updateDTO, null);
 
         // Then
         assertThat(result).isNotNull();
@@ -180,6 +194,31 @@ public class UserServiceTest {
         assertThat(result.getRole()).isEqualTo(Role.ADMIN);
         verify(userRepository, times(1)).findById(1L);
         verify(userRepository, times(1)).save(any(User.class));
+        verify(userDetailsService, times(1)).evictUserAfterCommit(1L);
+        // role change: old tokens stop working, refresh tokens may pick up the new role
+        assertThat(user1.getTokenVersion()).isEqualTo(1L);
+        verify(tokenVersionRegistry, times(1)).updateAfterCommit(1L, 1L);
+        verify(refreshTokenService, never()).revokeAll(any());
+    }
+
+    @Test
+    void updateUser_WithoutPasswordOrRoleChange_ShouldKeepTokensValid() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user1));
+        when(userRepository.save(any(User.class))).thenReturn(user1);
+
+        UserCreateDTO updateDTO = UserCreateDTO.builder()
+                .name("Updated Name")
+                .cpf("123.456.789-01")
+                .role(Role.USER)
+                .build();
+
+        // When
+        userService.updateUser(1L, updateDTO, null);
+
+        // Then
+        assertThat(user1.getTokenVersion()).isEqualTo(0L);
+        verifyNoInteractions(tokenVersionRegistry, refreshTokenService);
     }
 
     @Test
@@ -197,10 +236,39 @@ public class UserServiceTest {
                 .build();
 
         // When
-        userService.updateUser(1L, updateDTO);
+        userService.updateUser(1L, updateDTO, null);
 
         // Then
         verify(passwordEncoder, times(1)).encode("new_password");
+        assertThat(user1.getTokenVersion()).isEqualTo(1L);
+        verify(tokenVersionRegistry, times(1)).updateAfterCommit(1L, 1L);
+        verify(refreshTokenService, times(1)).revokeAll(1L);
+    }
+
+    @Test
+    void logoutEverywhere_ShouldBumpTokenVersionAndRevokeRefreshTokens() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user1));
+        when(userRepository.save(user1)).thenReturn(user1);
+
+        // When
+        userService.logoutEverywhere(1L);
+
+        // Then
+        assertThat(user1.getTokenVersion()).isEqualTo(1L);
+        verify(userDetailsService, times(1)).evictUserAfterCommit(1L);
+        verify(tokenVersionRegistry, times(1)).updateAfterCommit(1L, 1L);
+        verify(refreshTokenService, times(1)).revokeAll(1L);
+    }
+
+    @Test
+    void logoutEverywhere_WithInvalidId_ShouldThrowException() {
+        // Given
+        when(userRepository.findById(999L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> userService.logoutEverywhere(999L));
+        verifyNoInteractions(tokenVersionRegistry, refreshTokenService);
     }
 
     @Test
@@ -210,7 +278,7 @@ public class UserServiceTest {
 
         // When & Then
         assertThrows(ResourceNotFoundException.class, () -> {
-            userService.updateUser(999L, userCreateDTO);
+            userService.updateUser(999L, userCreateDTO, null);
         });
         verify(userRepository, times(1)).findById(999L);
         verify(userRepository, never()).save(any(User.class));
@@ -219,27 +287,32 @@ public class UserServiceTest {
     @Test
     void deleteUser_WithValidId_ShouldDeleteUser() {
         // Given
-        when(userRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(userRepository).deleteById(1L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user1));
 
         // When
-        userService.deleteUser(1L);
+        userService.deleteUser(1L, null);
 
         // Then
-        verify(userRepository, times(1)).existsById(1L);
-        verify(userRepository, times(1)).deleteById(1L);
+        verify(userRepository, times(1)).findById(1L);
+        verify(userRepository, times(1)).delete(user1);
+        verify(userDetailsService, times(1)).evictUser(1L);
+        verify(tokenRevocationService, times(1)).revokeUser(1L);
     }
 
     @Test
     void deleteUser_WithInvalidId_ShouldThrowException() {
         // Given
-        when(userRepository.existsById(999L)).thenReturn(false);
+        when(userRepository.findById(999L)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(ResourceNotFoundException.class, () -> {
-            userService.deleteUser(999L);
+            userService.deleteUser(999L, null);
         });
-        verify(userRepository, times(1)).existsById(999L);
-        verify(userRepository, never()).deleteById(anyLong());
+        verify(userRepository, times(1)).findById(999L);
+        verify(userRepository, never()).delete(any(User.class));
+    }
+
+    private UserDTO toDTO(User user) {
+        return new UserDTO(user.getId(), user.getName(), user.getCpf(), user.getRole(), user.getVersion());
     }
 }
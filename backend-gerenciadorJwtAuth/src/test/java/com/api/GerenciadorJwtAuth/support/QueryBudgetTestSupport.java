@@ -0,0 +1,47 @@
+package com.api.GerenciadorJwtAuth.support;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.TestSecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+/**
+ * Base for tests that run requests through the whole application on the embedded database of
+ * the {@code test} profile and hold each one to a {@link SqlBudget}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@Import(SqlStatementRecorder.Config.class)
+public abstract class QueryBudgetTestSupport {
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // MockMvc reuses the test security context, which unit tests in the same JVM may have left set
+    @BeforeEach
+    void clearSecurityContext() {
+        TestSecurityContextHolder.clearContext();
+    }
+
+    protected void assertWithinBudget(RequestBuilder request, ResultMatcher expectedStatus,
+                                      SqlBudget budget) throws Exception {
+        // a warm second-level cache would hide per-row loads
+        entityManagerFactory.getCache().evictAll();
+        SqlStatementRecorder.reset();
+
+        mockMvc.perform(request).andExpect(expectedStatus);
+
+        budget.verify(SqlStatementRecorder.statements());
+    }
+}
@@ -0,0 +1,39 @@
+package com.api.GerenciadorJwtAuth.support;
+
+import com.api.GerenciadorJwtAuth.support.SqlStatementRecorder.RecordedStatement;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Upper bounds for the SQL issued by one request: statements, rows read back and total time
+ * spent in the database. The default time ceiling is loose on purpose, it only catches full
+ * scans and lock waits, not small fluctuations on a shared CI machine.
+ */
+public record SqlBudget(int maxStatements, long maxRows, Duration maxTime) {
+
+    public static final Duration DEFAULT_MAX_TIME = Duration.ofSeconds(1);
+
+    public static SqlBudget of(int maxStatements, long maxRows) {
+        return new SqlBudget(maxStatements, maxRows, DEFAULT_MAX_TIME);
+    }
+
+    public SqlBudget withMaxTime(Duration maxTime) {
+        return new SqlBudget(maxStatements, maxRows, maxTime);
+    }
+
+    public void verify(List<RecordedStatement> statements) {
+        String report = statements.stream()
+                .map(RecordedStatement::toString)
+                .collect(Collectors.joining("\n  ", "\n  ", ""));
+        long rows = statements.stream().mapToLong(RecordedStatement::rows).sum();
+        Duration elapsed = statements.stream().map(RecordedStatement::elapsed).reduce(Duration.ZERO, Duration::plus);
+
+        assertThat(statements.size()).as("SQL statements for one request:%s", report).isLessThanOrEqualTo(maxStatements);
+        assertThat(rows).as("rows fetched for one request:%s", report).isLessThanOrEqualTo(maxRows);
+        assertThat(elapsed).as("time spent in SQL for one request:%s", report).isLessThanOrEqualTo(maxTime);
+    }
+}
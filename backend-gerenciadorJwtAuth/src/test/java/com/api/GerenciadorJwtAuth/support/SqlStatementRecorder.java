@@ -0,0 +1,170 @@
+package com.api.GerenciadorJwtAuth.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records every statement sent to the database, whoever issues it (Hibernate, JdbcTemplate, ...),
+ * with the time spent executing it and reading its rows. A JDBC batch counts once, as it is a
+ * single round trip. Import {@link Config} to wrap the application's DataSource.
+ */
+public final class SqlStatementRecorder {
+
+    private static final List<RecordedStatement> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    private SqlStatementRecorder() {
+    }
+
+    public static void reset() {
+        STATEMENTS.clear();
+    }
+
+    public static List<RecordedStatement> statements() {
+        return List.copyOf(STATEMENTS);
+    }
+
+    public static DataSource wrap(DataSource dataSource) {
+        return proxy(DataSource.class, dataSource, (method, args, invocation) -> {
+            Object result = invocation.proceed();
+            return method.getName().equals("getConnection") ? wrapConnection((Connection) result) : result;
+        });
+    }
+
+    private static Connection wrapConnection(Connection connection) {
+        return proxy(Connection.class, connection, (method, args, invocation) -> {
+            Object result = invocation.proceed();
+            return switch (method.getName()) {
+                case "prepareStatement" -> wrapStatement(PreparedStatement.class, (Statement) result, (String) args[0]);
+                case "prepareCall" -> wrapStatement(CallableStatement.class, (Statement) result, (String) args[0]);
+                case "createStatement" -> wrapStatement(Statement.class, (Statement) result, null);
+                default -> result;
+            };
+        });
+    }
+
+    private static <T extends Statement> T wrapStatement(Class<T> type, Statement statement, String preparedSql) {
+        AtomicReference<RecordedStatement> last = new AtomicReference<>();
+        return proxy(type, type.cast(statement), (method, args, invocation) -> {
+            if (method.getName().startsWith("execute")) {
+                boolean hasSqlArgument = args != null && args.length > 0 && args[0] instanceof String;
+                RecordedStatement recorded = new RecordedStatement(
+                        hasSqlArgument ? (String) args[0] : String.valueOf(preparedSql));
+                STATEMENTS.add(recorded);
+                last.set(recorded);
+                Object result = recorded.time(invocation);
+                return result instanceof ResultSet resultSet ? wrapResultSet(resultSet, recorded) : result;
+            }
+            Object result = invocation.proceed();
+            if (result instanceof ResultSet resultSet && last.get() != null) {
+                return wrapResultSet(resultSet, last.get());
+            }
+            return result;
+        });
+    }
+
+    private static ResultSet wrapResultSet(ResultSet resultSet, RecordedStatement recorded) {
+        return proxy(ResultSet.class, resultSet, (method, args, invocation) -> {
+            if (!method.getName().equals("next")) {
+                return invocation.proceed();
+            }
+            Object hasRow = recorded.time(invocation);
+            if (Boolean.TRUE.equals(hasRow)) {
+                recorded.rows.increment();
+            }
+            return hasRow;
+        });
+    }
+
+    @FunctionalInterface
+    private interface Invocation {
+        Object proceed() throws Throwable;
+    }
+
+    @FunctionalInterface
+    private interface Interceptor {
+        Object intercept(Method method, Object[] args, Invocation invocation) throws Throwable;
+    }
+
+    private static <T> T proxy(Class<T> type, T target, Interceptor interceptor) {
+        InvocationHandler handler = (proxy, method, args) -> interceptor.intercept(method, args, () -> {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+        return type.cast(Proxy.newProxyInstance(SqlStatementRecorder.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    /**
+     * One execution: its SQL, the time spent in {@code execute*} and {@code ResultSet.next()},
+     * and how many rows were read back.
+     */
+    public static final class RecordedStatement {
+
+        private final String sql;
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+
+        private RecordedStatement(String sql) {
+            this.sql = sql;
+        }
+
+        public String sql() {
+            return sql;
+        }
+
+        public Duration elapsed() {
+            return Duration.ofNanos(nanos.sum());
+        }
+
+        public long rows() {
+            return rows.sum();
+        }
+
+        private Object time(Invocation invocation) throws Throwable {
+            long start = System.nanoTime();
+            try {
+                return invocation.proceed();
+            } finally {
+                nanos.add(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%8.3f ms %6d rows  %s", nanos.sum() / 1_000_000.0, rows(), sql);
+        }
+    }
+
+    @TestConfiguration
+    public static class Config {
+
+        @Bean
+        static BeanPostProcessor sqlStatementRecordingPostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+}
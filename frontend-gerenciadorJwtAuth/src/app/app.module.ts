@@ -17,6 +17,7 @@ import { MatSnackBarModule } from '@angular/material/snack-bar';
 import { MatProgressSpinnerModule } from '@angular/material/progress-spinner';
 import { MatSelectModule } from '@angular/material/select';
 import { MatChipsModule } from '@angular/material/chips';
+import { MatPaginatorModule } from '@angular/material/paginator';
 
 // Core modules
 import { authInterceptorProviders } from './core/interceptors/auth.interceptor';
@@ -59,7 +60,8 @@ import { UserFormComponent } from './features/users/user-form/user-form.componen
     MatSnackBarModule,
     MatProgressSpinnerModule,
     MatSelectModule,
-    MatChipsModule
+    MatChipsModule,
+    MatPaginatorModule
   ],
   providers: [authInterceptorProviders],
   bootstrap: [AppComponent]
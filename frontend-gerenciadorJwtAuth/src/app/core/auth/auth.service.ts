@@ -20,6 +20,10 @@ export class AuthService {
     return this.http.post<LoginResponse>(`${AUTH_API}login`, credentials, httpOptions);
   }
 
+  logout(refreshToken: string | null): Observable<void> {
+    return this.http.post<void>(`${AUTH_API}logout`, { refreshToken }, httpOptions);
+  }
+
   isAuthenticated(): boolean {
     const token = window.sessionStorage.getItem('auth-token');
     return !!token;
@@ -1,36 +1,84 @@
 import { Injectable } from '@angular/core';
-import { HttpRequest, HttpHandler, HttpEvent, HttpInterceptor, HTTP_INTERCEPTORS, HttpErrorResponse } from '@angular/common/http';
+import { HttpRequest, HttpHandler, HttpEvent, HttpInterceptor, HTTP_INTERCEPTORS, HttpErrorResponse, HttpResponse } from '@angular/common/http';
 import { Observable, throwError } from 'rxjs';
-import { catchError } from 'rxjs/operators';
+import { catchError, filter, finalize, map, shareReplay, switchMap, take } from 'rxjs/operators';
 import { TokenStorageService } from '../auth/token-storage.service';
 import { Router } from '@angular/router';
+import { environment } from '../../../environments/environment';
+import { LoginResponse } from '../../models/auth.model';
+
+const AUTH_API = `${environment.apiUrl}/auth/`;
 
 @Injectable()
 export class AuthInterceptor implements HttpInterceptor {
+  // shared by every request that fails while a refresh is in flight, refresh tokens are single use
+  private refreshInFlight: Observable<string> | null = null;
+
   constructor(private tokenStorage: TokenStorageService, private router: Router) { }
 
   intercept(request: HttpRequest<unknown>, next: HttpHandler): Observable<HttpEvent<unknown>> {
-    let authReq = request;
-    const token = this.tokenStorage.getToken();
-    
-    if (token != null) {
-      authReq = request.clone({
-        headers: request.headers.set('Authorization', `Bearer ${token}`)
-      });
+    if (request.url.startsWith(AUTH_API)) {
+      // logout needs the access token it revokes; a 401 here is never worth a refresh
+      return next.handle(this.withToken(request, this.tokenStorage.getToken()));
     }
 
-    return next.handle(authReq).pipe(
+    return next.handle(this.withToken(request, this.tokenStorage.getToken())).pipe(
       catchError((error: HttpErrorResponse) => {
-        if (error.status === 401) {
-          this.tokenStorage.signOut();
-          this.router.navigate(['/login']);
+        if (error.status !== 401) {
+          return throwError(() => error);
+        }
+        if (this.tokenStorage.getRefreshToken() == null) {
+          this.signOut();
+          return throwError(() => error);
         }
-        return throwError(() => error);
+        return this.refresh(next).pipe(
+          catchError(refreshError => {
+            this.signOut();
+            return throwError(() => refreshError);
+          }),
+          switchMap(token => next.handle(this.withToken(request, token)))
+        );
       })
     );
   }
+
+  private refresh(next: HttpHandler): Observable<string> {
+    if (!this.refreshInFlight) {
+      // sent through the next handler, not HttpClient, which would run this interceptor again
+      const refreshRequest = new HttpRequest('POST', `${AUTH_API}refresh`,
+        { refreshToken: this.tokenStorage.getRefreshToken() });
+      this.refreshInFlight = next.handle(refreshRequest).pipe(
+        filter((event): event is HttpResponse<LoginResponse> => event instanceof HttpResponse),
+        take(1),
+        map(response => {
+          const data = response.body as LoginResponse;
+          this.tokenStorage.saveToken(data.token);
+          this.tokenStorage.saveRefreshToken(data.refreshToken);
+          this.tokenStorage.saveUser(data);
+          return data.token;
+        }),
+        finalize(() => this.refreshInFlight = null),
+        shareReplay(1)
+      );
+    }
+    return this.refreshInFlight;
+  }
+
+  private withToken(request: HttpRequest<unknown>, token: string | null): HttpRequest<unknown> {
+    if (token == null) {
+      return request;
+    }
+    return request.clone({
+      headers: request.headers.set('Authorization', `Bearer ${token}`)
+    });
+  }
+
+  private signOut(): void {
+    this.tokenStorage.signOut();
+    this.router.navigate(['/login']);
+  }
 }
 
 export const authInterceptorProviders = [
   { provide: HTTP_INTERCEPTORS, useClass: AuthInterceptor, multi: true }
-];
\ No newline at end of file
+];
@@ -48,6 +48,7 @@ export class LoginComponent implements OnInit {
     this.authService.login(this.loginForm.value).subscribe({
       next: (data) => {
         this.tokenStorage.saveToken(data.token);
+        this.tokenStorage.saveRefreshToken(data.refreshToken);
         this.tokenStorage.saveUser(data);
         this.router.navigate([this.returnUrl]);
       },
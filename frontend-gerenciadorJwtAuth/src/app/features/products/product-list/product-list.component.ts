@@ -1,5 +1,6 @@
 import { Component, OnInit } from '@angular/core';
 import { MatDialog } from '@angular/material/dialog';
+import { PageEvent } from '@angular/material/paginator';
 import { MatSnackBar } from '@angular/material/snack-bar';
 import { Product } from '../../../models/product.model';
 import { ProductService } from '../../../services/product.service';
@@ -14,6 +15,9 @@ export class ProductListComponent implements OnInit {
   products: Product[] = [];
   displayedColumns: string[] = ['id', 'name', 'description', 'price', 'quantity', 'actions'];
   isLoading = true;
+  totalElements = 0;
+  pageIndex = 0;
+  pageSize = 20;
   
   constructor(
     private productService: ProductService,
@@ -27,9 +31,10 @@ export class ProductListComponent implements OnInit {
 
   loadProducts(): void {
     this.isLoading = true;
-    this.productService.getAll().subscribe({
+    this.productService.getAll(this.pageIndex, this.pageSize).subscribe({
       next: (data) => {
-        this.products = data;
+        this.products = data.content;
+        this.totalElements = data.page.totalElements;
         this.isLoading = false;
       },
       error: (err) => {
@@ -41,6 +46,12 @@ export class ProductListComponent implements OnInit {
     });
   }
 
+  onPageChange(event: PageEvent): void {
+    this.pageIndex = event.pageIndex;
+    this.pageSize = event.pageSize;
+    this.loadProducts();
+  }
+
   openProductDialog(product?: Product): void {
     const dialogRef = this.dialog.open(ProductFormComponent, {
       width: '500px',
@@ -6,6 +6,8 @@ export interface LoginRequest {
 export interface LoginResponse {
     token: string;
     type: string;
+    expiresIn: number;
+    refreshToken: string;
     id: number;
     username: string;
     email: string;
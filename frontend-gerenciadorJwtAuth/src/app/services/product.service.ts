@@ -1,7 +1,8 @@
 import { Injectable } from '@angular/core';
-import { HttpClient } from '@angular/common/http';
+import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
 import { Product } from '../models/product.model';
+import { Page } from '../models/page.model';
 import { environment } from '../../environments/environment';
 
 const API_URL = `${environment.apiUrl}/products`;
@@ -12,8 +13,15 @@ const API_URL = `${environment.apiUrl}/products`;
 export class ProductService {
   constructor(private http: HttpClient) { }
 
-  getAll(): Observable<Product[]> {
-    return this.http.get<Product[]>(API_URL);
+  getAll(page = 0, size = 20, sort = 'id,asc', filters: { [key: string]: string | number } = {}): Observable<Page<Product>> {
+    let params = new HttpParams()
+      .set('page', page)
+      .set('size', size)
+      .set('sort', sort);
+    Object.entries(filters).forEach(([key, value]) => {
+      params = params.set(key, value);
+    });
+    return this.http.get<Page<Product>>(API_URL, { params });
   }
 
   getById(id: number): Observable<Product> {
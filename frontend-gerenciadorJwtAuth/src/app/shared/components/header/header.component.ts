@@ -1,6 +1,7 @@
 import { Component } from '@angular/core';
 import { Router } from '@angular/router';
 import { TokenStorageService } from '../../../core/auth/token-storage.service';
+import { AuthService } from '../../../core/auth/auth.service';
 
 @Component({
   selector: 'app-header',
@@ -10,6 +11,7 @@ import { TokenStorageService } from '../../../core/auth/token-storage.service';
 export class HeaderComponent {
   constructor(
     private tokenStorage: TokenStorageService,
+    private authService: AuthService,
     private router: Router
   ) { }
 
@@ -23,6 +25,14 @@ export class HeaderComponent {
   }
 
   logout(): void {
+    // revoke on the server, but sign out locally whatever the outcome
+    this.authService.logout(this.tokenStorage.getRefreshToken()).subscribe({
+      complete: () => this.signOut(),
+      error: () => this.signOut()
+    });
+  }
+
+  private signOut(): void {
     this.tokenStorage.signOut();
     this.router.navigate(['/login']);
   }